@@ -1,5 +1,6 @@
 package com.antigravity.urlshortener.config;
 
+import com.antigravity.urlshortener.util.CorrelationIdGenerator;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -9,13 +10,13 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.UUID;
 
 /**
  * Servlet filter that manages unique correlation IDs for every request.
  * Enables end-to-end tracing by:
  * 1. Extracting the ID from the incoming X-Correlation-ID header.
- * 2. Generating a new UUID if the header is missing.
+ * 2. Generating a new node-prefixed, monotonic ID if the header is missing
+ * (see {@link CorrelationIdGenerator}).
  * 3. Adding the ID to the SLF4J MDC (Mapped Diagnostic Context) for log
  * enrichment.
  * 4. Injecting the ID back into the response headers.
@@ -27,6 +28,12 @@ public class CorrelationIdFilter implements Filter {
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     private static final String MDC_CORRELATION_ID = "correlationId";
 
+    private final CorrelationIdGenerator idGenerator;
+
+    public CorrelationIdFilter(CorrelationIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
     /**
      * Main filtering logic for injecting correlation IDs into the execution
      * context.
@@ -43,7 +50,7 @@ public class CorrelationIdFilter implements Filter {
         }
 
         if (correlationId == null || correlationId.isBlank()) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = idGenerator.next();
         }
 
         try {
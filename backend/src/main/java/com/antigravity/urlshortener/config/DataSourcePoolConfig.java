@@ -0,0 +1,61 @@
+package com.antigravity.urlshortener.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * Sizes the Hikari connection pool from the number of available cores when
+ * running with the "perf" profile.
+ * Uses the classic (cores * 2) + effective spindles formula: a small, fixed-size
+ * pool keeps MySQL from context-switching between more sessions than it can
+ * actually execute. Explicit spring.datasource.hikari.* values always win.
+ */
+@Configuration
+@Profile("perf")
+@Slf4j
+public class DataSourcePoolConfig {
+
+    private static final String MAX_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+    private static final String MIN_IDLE = "spring.datasource.hikari.minimum-idle";
+
+    /**
+     * Static so the post-processor is registered before the DataSource bean is
+     * created.
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    size(dataSource);
+                } else if (bean instanceof ShardRoutingDataSource routing) {
+                    routing.getResolvedDataSources().values().stream()
+                            .filter(HikariDataSource.class::isInstance)
+                            .forEach(dataSource -> size((HikariDataSource) dataSource));
+                }
+                return bean;
+            }
+
+            private void size(HikariDataSource dataSource) {
+                int perCore = environment.getProperty("app.datasource.pool-size-per-core", Integer.class, 2);
+                int poolSize = Runtime.getRuntime().availableProcessors() * perCore + 1;
+
+                if (!environment.containsProperty(MAX_POOL_SIZE)) {
+                    dataSource.setMaximumPoolSize(poolSize);
+                }
+                if (!environment.containsProperty(MIN_IDLE)) {
+                    // Fixed-size pool: no connection churn under bursty traffic
+                    dataSource.setMinimumIdle(dataSource.getMaximumPoolSize());
+                }
+                log.info("Hikari pool '{}' sized to {} connections", dataSource.getPoolName(),
+                        dataSource.getMaximumPoolSize());
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.antigravity.urlshortener.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback {@link AsyncAppender} that counts the events it drops.
+ *
+ * Drop policy (configured in logback-spring.xml): once the bounded queue has
+ * fewer free slots than the discarding threshold, TRACE/DEBUG/INFO events are
+ * dropped; with neverBlock, WARN/ERROR events are dropped only when the queue
+ * is completely full. Request threads never wait on log I/O.
+ *
+ * The count is exposed as ushort_log_events_dropped_total. Capacity is read
+ * before the enqueue, so a concurrent fill can make it slightly undercount.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+    // Logback, not Spring, instantiates appenders, so the counter is static
+    private static final LongAdder DROPPED = new LongAdder();
+
+    public static long droppedCount() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * The live drop counter, for meters that need an object to observe.
+     * Micrometer holds that object weakly; this one is kept alive by the class.
+     */
+    public static LongAdder droppedCounter() {
+        return DROPPED;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!isStarted()) {
+            return;
+        }
+        int remaining = getRemainingCapacity();
+        if ((remaining < getDiscardingThreshold() && isDiscardable(event))
+                || (remaining == 0 && isNeverBlock())) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(event);
+    }
+}
@@ -0,0 +1,109 @@
+package com.antigravity.urlshortener.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Logback encoder writing one JSON object per line:
+ * {@code {"ts":..,"level":..,"logger":..,"thread":..,"msg":..,"exception":..}}
+ * followed by every MDC entry (e.g. correlationId) as a top-level field.
+ *
+ * Reuses a per-thread buffer, so the only allocations per event are the
+ * output byte array and the timestamp. Runs on the async appender's worker
+ * thread, off the request path.
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder sb = buffers.get();
+        sb.setLength(0);
+
+        sb.append("{\"ts\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(event.getTimeStamp()), sb);
+        sb.append("\",\"level\":\"").append(event.getLevel().levelStr);
+        sb.append("\",\"logger\":");
+        appendString(sb, event.getLoggerName());
+        sb.append(",\"thread\":");
+        appendString(sb, event.getThreadName());
+        sb.append(",\"msg\":");
+        appendString(sb, event.getFormattedMessage());
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            appendField(sb, "exception", ThrowableProxyUtil.asString(throwable));
+        }
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null && !mdc.isEmpty()) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                appendField(sb, entry.getKey(), entry.getValue());
+            }
+        }
+        sb.append("}\n");
+
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            // Don't keep a huge buffer around after one large stack trace
+            buffers.remove();
+        }
+        return bytes;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+
+    private static void appendField(StringBuilder sb, String name, String value) {
+        if (value != null) {
+            sb.append(',');
+            appendString(sb, name);
+            sb.append(':');
+            appendString(sb, value);
+        }
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,25 @@
+package com.antigravity.urlshortener.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exposes the async logging pipeline's drop count (see
+ * {@link DropCountingAsyncAppender}). Stays at zero when the synchronous
+ * console appender is in use.
+ */
+@Configuration
+public class LoggingMetricsConfig {
+
+    @Bean
+    public MeterBinder logPipelineMetrics() {
+        return registry -> FunctionCounter
+                .builder("ushort_log_events_dropped_total", DropCountingAsyncAppender.droppedCounter(), LongAdder::sum)
+                .description("Log events dropped by the async appender's bounded queue")
+                .register(registry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.antigravity.urlshortener.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies the versioned migrations in db/migration to every shard.
+ * Boot's Flyway auto-configuration only knows the lazy primary DataSource, so
+ * its configuration is reused against each shard's pool directly. Runs before
+ * the EntityManagerFactory is built.
+ */
+@Configuration
+@Slf4j
+public class ShardMigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource) {
+        return flyway -> shardRoutingDataSource.getResolvedDataSources().forEach((shard, dataSource) -> {
+            int applied = Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(dataSource)
+                    .load()
+                    .migrate()
+                    .migrationsExecuted;
+            log.info("Shard '{}' schema up to date ({} migrations applied)", shard, applied);
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.antigravity.urlshortener.config;
+
+import com.antigravity.urlshortener.util.ShardContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes JDBC connections to the shard selected in {@link ShardContext}.
+ * Wrapped in a LazyConnectionDataSourceProxy so that transactions opened
+ * before the shard is known still acquire their physical connection from the
+ * right shard.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = ShardContext.getShard();
+        return shard != null ? shard : ShardContext.PRIMARY_SHARD;
+    }
+
+    /**
+     * Closes the per-shard pools, which are not Spring beans themselves.
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.antigravity.urlshortener.config;
+
+import com.antigravity.urlshortener.util.ShardContext;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds one connection pool per database shard and exposes them as a single
+ * routed DataSource to JPA.
+ * Without any app.sharding.shards configured this is equivalent to the
+ * auto-configured single pool.
+ */
+@Configuration
+@EnableConfigurationProperties({ TenancyProperties.class, ShardingProperties.class })
+public class ShardingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties primaryProperties,
+            ShardingProperties shardingProperties, Environment environment) {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        targets.put(ShardContext.PRIMARY_SHARD, configurePool(primary, ShardContext.PRIMARY_SHARD, environment));
+
+        shardingProperties.getShards().forEach((name, shard) -> {
+            if (ShardContext.PRIMARY_SHARD.equals(name)) {
+                throw new IllegalStateException("Shard name '" + name + "' is reserved for spring.datasource");
+            }
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .driverClassName(shard.getDriverClassName())
+                    .build();
+            targets.put(name, configurePool(dataSource, name, environment));
+        });
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.setLenientFallback(false);
+        return routing;
+    }
+
+    /**
+     * The DataSource used by JPA. Defers physical connection acquisition until
+     * the first statement so the shard can be chosen inside the transaction.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    private static HikariDataSource configurePool(HikariDataSource dataSource, String shard,
+            Environment environment) {
+        Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        String poolName = dataSource.getPoolName() != null ? dataSource.getPoolName() : "ushort";
+        dataSource.setPoolName(poolName + "-" + shard);
+        return dataSource;
+    }
+}
@@ -0,0 +1,28 @@
+package com.antigravity.urlshortener.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Additional database shards, bound from app.sharding.*.
+ * The "primary" shard is always the regular spring.datasource connection;
+ * pool settings under spring.datasource.hikari apply to every shard.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    /** Shard name to connection settings */
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
@@ -0,0 +1,38 @@
+package com.antigravity.urlshortener.config;
+
+import com.antigravity.urlshortener.util.ShardContext;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tenant namespaces served by this deployment, bound from app.tenancy.*.
+ * Requests are mapped to a tenant by their Host; hosts not listed here belong
+ * to the implicit "default" tenant.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tenancy")
+public class TenancyProperties {
+
+    /** Tenant id (max 32 chars) to tenant settings */
+    private Map<String, Tenant> tenants = new LinkedHashMap<>();
+
+    @Data
+    public static class Tenant {
+        /** Hostnames (custom domains) that resolve to this tenant */
+        private List<String> domains = new ArrayList<>();
+        /** Base URL used when building short links; derived from the request (one of the domains) if empty */
+        private String baseUrl;
+        /**
+         * Shards holding this tenant's links. New links are spread across them and
+         * every code starts with the index of its shard in this list, so shards
+         * may be appended later but never reordered or removed. The default
+         * tenant's codes carry no prefix; it may only use the primary shard.
+         */
+        private List<String> shards = new ArrayList<>(List.of(ShardContext.PRIMARY_SHARD));
+    }
+}
@@ -0,0 +1,51 @@
+package com.antigravity.urlshortener.config;
+
+import com.antigravity.urlshortener.util.TenantContext;
+import jakarta.servlet.*;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Servlet filter that resolves the tenant namespace of every request from the
+ * Host it was sent to (custom domain), and exposes it through
+ * {@link TenantContext} for the duration of the request.
+ * Hosts without a configured tenant are served by the default tenant.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TenantFilter implements Filter {
+
+    private final Map<String, String> tenantsByDomain = new HashMap<>();
+
+    public TenantFilter(TenancyProperties tenancyProperties) {
+        tenancyProperties.getTenants().forEach((tenantId, tenant) -> {
+            for (String domain : tenant.getDomains()) {
+                String previous = tenantsByDomain.put(domain.toLowerCase(Locale.ROOT), tenantId);
+                if (previous != null && !previous.equals(tenantId)) {
+                    throw new IllegalStateException(
+                            "Domain " + domain + " is mapped to both " + previous + " and " + tenantId);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        String host = request.getServerName();
+        String tenantId = host == null ? null : tenantsByDomain.get(host.toLowerCase(Locale.ROOT));
+
+        try {
+            TenantContext.setTenantId(tenantId != null ? tenantId : TenantContext.DEFAULT_TENANT);
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
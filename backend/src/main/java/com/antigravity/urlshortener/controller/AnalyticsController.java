@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.antigravity.urlshortener.util.ShortUrlBuilder;
+import com.antigravity.urlshortener.util.TenantContext;
 
 @RestController
 @RequestMapping("/api/v1/analytics")
@@ -21,7 +22,7 @@ public class AnalyticsController {
 
     @GetMapping("/{shortCode}")
     public ResponseEntity<AnalyticsResponse> getAnalytics(@PathVariable String shortCode) {
-        AnalyticsResponse response = analyticsService.getAnalytics(shortCode);
+        AnalyticsResponse response = analyticsService.getAnalytics(TenantContext.getTenantId(), shortCode);
         response.setShortUrl(urlBuilder.build(response.getShortCode()));
         return ResponseEntity.ok(response);
     }
@@ -1,12 +1,18 @@
 package com.antigravity.urlshortener.controller;
 
+import com.antigravity.urlshortener.dto.ExpiryRequest;
 import com.antigravity.urlshortener.dto.ShortenRequest;
 import com.antigravity.urlshortener.dto.ShortenResponse;
+import com.antigravity.urlshortener.service.ClickEnrichmentService;
 import com.antigravity.urlshortener.service.UrlShortenerService;
 import com.antigravity.urlshortener.util.ShortUrlBuilder;
+import com.antigravity.urlshortener.util.StartupMetrics;
+import com.antigravity.urlshortener.util.TenantContext;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -31,6 +37,11 @@ public class UrlController {
     private final UrlShortenerService service;
     private final ShortUrlBuilder urlBuilder;
     private final MeterRegistry meterRegistry;
+    private final ClickEnrichmentService clickEnrichmentService;
+    private final StartupMetrics startupMetrics;
+
+    /** Loaded once; misses are common enough that re-reading it per request shows up */
+    private volatile String notFoundPage;
 
     /**
      * Accepts a long URL and returns a unique shortened code and link.
@@ -44,7 +55,30 @@ public class UrlController {
     @PostMapping("/api/v1/shorten")
     public ResponseEntity<ShortenResponse> shortenUrl(@Valid @RequestBody ShortenRequest request) {
         String currentBaseUrl = urlBuilder.getBaseUrl();
-        ShortenResponse response = service.shortenUrl(request, currentBaseUrl);
+        ShortenResponse response = service.shortenUrl(TenantContext.getTenantId(), request, currentBaseUrl);
+        response.setShortUrl(urlBuilder.build(response.getShortCode()));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Sets or extends the expiry of an existing short link. The new expiry must
+     * lie in the future (400 otherwise), but it may be moments away, which ends
+     * the link almost immediately.
+     * 
+     * There is no ownership check: links carry no owner, so any client that
+     * can reach the tenant's host can change the expiry of any of its links.
+     * Restrict this endpoint upstream, e.g. at the gateway, until links have
+     * owners.
+     * 
+     * @param shortCode The code of the link to update
+     * @param request   The DTO containing the new expiry timestamp
+     * @return ResponseEntity containing the updated link metadata
+     */
+    @PutMapping("/api/v1/links/{shortCode}/expiry")
+    public ResponseEntity<ShortenResponse> updateExpiry(@PathVariable String shortCode,
+            @Valid @RequestBody ExpiryRequest request) {
+        ShortenResponse response = service.updateExpiry(TenantContext.getTenantId(), shortCode,
+                request.getExpiresAt());
         response.setShortUrl(urlBuilder.build(response.getShortCode()));
         return ResponseEntity.ok(response);
     }
@@ -52,16 +86,22 @@ public class UrlController {
     /**
      * Performs the primary redirection logic.
      * Increases click counts, checks for expiration, and handles metrics reporting.
+     * Geo/device/bot classification is handed off to the enrichment stage.
      * 
      * @param shortCode The unique path variable identifying a shortened link
+     * @param request   The servlet request (User-Agent and client address)
      * @return 302 Redirect to original URL if found and active, otherwise 404 HTML
      */
     @GetMapping("/{shortCode}")
-    public Object redirect(@PathVariable String shortCode) {
+    public Object redirect(@PathVariable String shortCode, HttpServletRequest request) {
         Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            String originalUrl = service.getOriginalUrl(shortCode);
+            String tenantId = TenantContext.getTenantId();
+            String originalUrl = service.getOriginalUrl(tenantId, shortCode);
             meterRegistry.counter("ushort_redirects_total", "status", "success").increment();
+            startupMetrics.redirectServed();
+            clickEnrichmentService.submit(tenantId, shortCode, request.getHeader(HttpHeaders.USER_AGENT),
+                    request.getRemoteAddr());
             return ResponseEntity.status(HttpStatus.FOUND)
                     .location(URI.create(originalUrl))
                     .build();
@@ -70,12 +110,21 @@ public class UrlController {
             // Serve the 404.html page from classpath for browser-friendly errors
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .contentType(MediaType.TEXT_HTML)
-                    .body(readHtmlResource("/static/404.html"));
+                    .body(notFoundPage());
         } finally {
             sample.stop(meterRegistry.timer("ushort_redirect_latency"));
         }
     }
 
+    private String notFoundPage() {
+        String page = notFoundPage;
+        if (page == null) {
+            page = readHtmlResource("/static/404.html");
+            notFoundPage = page;
+        }
+        return page;
+    }
+
     private String readHtmlResource(String path) {
         try {
             var is = getClass().getResourceAsStream(path);
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * DTO representing the analytics data for a shortened URL.
@@ -25,6 +26,17 @@ public class AnalyticsResponse {
     private String shortUrl;
     /** Total number of times the short link has been accessed */
     private long clickCount;
+    /**
+     * Clicks classified as bots (enriched asynchronously). Like the two maps
+     * below, this is held in memory by the instance serving the request: it
+     * resets on restart, only covers clicks that instance served and may be
+     * evicted for links not clicked recently.
+     */
+    private long botClickCount;
+    /** Enriched clicks per device class (per instance, since its last restart) */
+    private Map<String, Long> clicksByDevice;
+    /** Enriched clicks per ISO country code (per instance, since its last restart) */
+    private Map<String, Long> clicksByCountry;
     /** Timestamp when the mapping was first created */
     private LocalDateTime createdAt;
     /**
@@ -0,0 +1,15 @@
+package com.antigravity.urlshortener.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+
+/**
+ * Error body returned by GlobalExceptionHandler. traceId is the request's
+ * correlation ID and is omitted when none is set.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorResponse {
+    String error;
+    String traceId;
+}
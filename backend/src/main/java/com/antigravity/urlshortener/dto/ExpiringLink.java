@@ -0,0 +1,17 @@
+package com.antigravity.urlshortener.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an active mapping with an upcoming expiry, used to fill the
+ * in-memory expiry schedule and to deactivate overdue mappings by id.
+ */
+@Value
+public class ExpiringLink {
+    Long id;
+    String tenantId;
+    String shortCode;
+    LocalDateTime expiresAt;
+}
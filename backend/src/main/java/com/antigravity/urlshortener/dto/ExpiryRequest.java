@@ -0,0 +1,18 @@
+package com.antigravity.urlshortener.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for setting or extending the expiry of an existing short link.
+ */
+@Data
+public class ExpiryRequest {
+    /** New expiry timestamp; must lie in the future */
+    @NotNull(message = "expiresAt is required")
+    @Future(message = "expiresAt must be in the future")
+    private LocalDateTime expiresAt;
+}
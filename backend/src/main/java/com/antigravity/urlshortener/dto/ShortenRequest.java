@@ -1,9 +1,12 @@
 package com.antigravity.urlshortener.dto;
 
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 /**
  * DTO for the initial URL shortening request.
  * Contains the source URL and basic validation rules.
@@ -17,4 +20,11 @@ public class ShortenRequest {
     @NotBlank(message = "URL cannot be empty")
     @Pattern(regexp = "^(http|https)://.*$", message = "URL must start with http:// or https://")
     private String originalUrl;
+
+    /**
+     * Optional custom expiry. Defaults to app.expiry.default-ttl-days from now.
+     * Ignored when an existing mapping is reused by deduplication.
+     */
+    @Future(message = "expiresAt must be in the future")
+    private LocalDateTime expiresAt;
 }
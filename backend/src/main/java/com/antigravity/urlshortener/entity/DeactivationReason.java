@@ -0,0 +1,10 @@
+package com.antigravity.urlshortener.entity;
+
+/**
+ * Why a {@link UrlMapping} was deactivated. Links disabled by hand (directly
+ * in the database) have no reason recorded.
+ */
+public enum DeactivationReason {
+    /** Deactivated by the expiry scheduler; extending the expiry reactivates it */
+    EXPIRED
+}
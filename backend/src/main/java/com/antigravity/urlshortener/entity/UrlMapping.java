@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
@@ -12,12 +15,15 @@ import java.time.LocalDateTime;
  * Entity representing a URL mapping in the database.
  * Maps original long URLs to unique short codes and tracks usage metrics.
  * 
- * Includes database-level indexes on shortCode and urlHash for O(1) lookups.
+ * Includes database-level indexes on (tenantId, shortCode) and (tenantId, urlHash)
+ * for O(1) lookups; codes and hashes are unique per tenant namespace. The
+ * (isActive, expiresAt) index feeds the background expiry scheduler.
  */
 @Entity
 @Table(name = "url_mapping", indexes = {
-        @Index(name = "idx_short_code", columnList = "shortCode", unique = true),
-        @Index(name = "idx_url_hash", columnList = "urlHash", unique = true)
+        @Index(name = "idx_tenant_short_code", columnList = "tenantId, shortCode", unique = true),
+        @Index(name = "idx_tenant_url_hash", columnList = "tenantId, urlHash", unique = true),
+        @Index(name = "idx_active_expires_at", columnList = "isActive, expiresAt")
 })
 @Getter
 @Setter
@@ -32,16 +38,21 @@ public class UrlMapping {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /** The tenant namespace this mapping belongs to */
+    @Column(nullable = false, length = 32)
+    @ColumnDefault("'default'")
+    private String tenantId;
+
     /** The full destination URL */
     @Column(nullable = false, columnDefinition = "TEXT")
     private String originalUrl;
 
     /** SHA-256 hash of the original URL, used for rapid deduplication checks */
-    @Column(length = 64, unique = true)
+    @Column(length = 64)
     private String urlHash;
 
-    /** The unique encoded string representing this mapping in the URL path */
-    @Column(length = 10, unique = true)
+    /** The encoded string representing this mapping in the URL path */
+    @Column(length = 10)
     private String shortCode;
 
     /** Total successful redirections performed */
@@ -58,4 +69,10 @@ public class UrlMapping {
 
     /** Manual override to disable a link without deleting the record */
     private boolean isActive = true;
+
+    /** Set when the expiry scheduler deactivates the link; null otherwise */
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 16)
+    private DeactivationReason deactivationReason;
 }
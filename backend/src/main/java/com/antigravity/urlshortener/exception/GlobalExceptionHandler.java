@@ -1,32 +1,52 @@
 package com.antigravity.urlshortener.exception;
 
+import com.antigravity.urlshortener.dto.ErrorResponse;
+import com.antigravity.urlshortener.util.LogSampler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
-    private Map<String, String> createErrorResponse(String message) {
-        Map<String, String> error = new HashMap<>();
-        error.put("error", message);
-        String correlationId = MDC.get("correlationId");
-        if (correlationId != null) {
-            error.put("traceId", correlationId);
-        }
-        return error;
+    /**
+     * Not-found and expired lookups can be driven by bots at very high rates,
+     * so their INFO logs are sampled per second.
+     */
+    private final LogSampler notFoundSampler;
+    private final LogSampler expiredSampler;
+
+    public GlobalExceptionHandler(
+            @Value("${app.logging.not-found-sample-per-second:10}") int notFoundPerSecond,
+            @Value("${app.logging.expired-sample-per-second:10}") int expiredPerSecond,
+            MeterRegistry meterRegistry) {
+        this.notFoundSampler = new LogSampler(notFoundPerSecond);
+        this.expiredSampler = new LogSampler(expiredPerSecond);
+
+        FunctionCounter.builder("ushort_log_events_sampled_out_total", notFoundSampler, LogSampler::totalSuppressed)
+                .description("INFO logs suppressed by sampling")
+                .tag("type", "not_found")
+                .register(meterRegistry);
+        FunctionCounter.builder("ushort_log_events_sampled_out_total", expiredSampler, LogSampler::totalSuppressed)
+                .description("INFO logs suppressed by sampling")
+                .tag("type", "expired")
+                .register(meterRegistry);
+    }
+
+    private ErrorResponse createErrorResponse(String message) {
+        return new ErrorResponse(message, MDC.get("correlationId"));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         log.error("Validation failed: {}", ex.getMessage());
 
         // Return the first specific validation error message instead of generic
@@ -36,30 +56,41 @@ public class GlobalExceptionHandler {
                 .map(org.springframework.validation.ObjectError::getDefaultMessage)
                 .orElse("Validation failed");
 
-        Map<String, String> errors = createErrorResponse(errorMessage);
-        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(createErrorResponse(errorMessage), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(InvalidUrlException.class)
-    public ResponseEntity<Map<String, String>> handleInvalidUrlException(InvalidUrlException ex) {
+    public ResponseEntity<ErrorResponse> handleInvalidUrlException(InvalidUrlException ex) {
         log.warn("Invalid URL request: {}", ex.getMessage());
         return new ResponseEntity<>(createErrorResponse(ex.getMessage()), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(UrlConflictException.class)
+    public ResponseEntity<ErrorResponse> handleUrlConflictException(UrlConflictException ex) {
+        log.warn("Conflicting shorten request: {}", ex.getMessage());
+        return new ResponseEntity<>(createErrorResponse(ex.getMessage()), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(UrlExpiredException.class)
-    public ResponseEntity<Map<String, String>> handleUrlExpiredException(UrlExpiredException ex) {
-        log.info("Expired URL access: {}", ex.getMessage());
+    public ResponseEntity<ErrorResponse> handleUrlExpiredException(UrlExpiredException ex) {
+        long suppressed = expiredSampler.sample();
+        if (suppressed >= 0) {
+            log.info("Expired URL access: {} ({} similar suppressed)", ex.getMessage(), suppressed);
+        }
         return new ResponseEntity<>(createErrorResponse(ex.getMessage()), HttpStatus.GONE);
     }
 
     @ExceptionHandler(UrlNotFoundException.class)
-    public ResponseEntity<Map<String, String>> handleUrlNotFoundException(UrlNotFoundException ex) {
-        log.info("URL not found: {}", ex.getMessage());
+    public ResponseEntity<ErrorResponse> handleUrlNotFoundException(UrlNotFoundException ex) {
+        long suppressed = notFoundSampler.sample();
+        if (suppressed >= 0) {
+            log.info("URL not found: {} ({} similar suppressed)", ex.getMessage(), suppressed);
+        }
         return new ResponseEntity<>(createErrorResponse(ex.getMessage()), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, String>> handleGlobalException(Exception ex) {
+    public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex) {
         log.error("Unexpected error occurred", ex);
         return new ResponseEntity<>(createErrorResponse("An unexpected error occurred"),
                 HttpStatus.INTERNAL_SERVER_ERROR);
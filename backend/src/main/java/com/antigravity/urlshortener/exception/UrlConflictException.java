@@ -0,0 +1,7 @@
+package com.antigravity.urlshortener.exception;
+
+public class UrlConflictException extends RuntimeException {
+    public UrlConflictException(String message) {
+        super(message);
+    }
+}
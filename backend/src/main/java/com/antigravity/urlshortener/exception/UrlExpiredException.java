@@ -1,7 +1,11 @@
 package com.antigravity.urlshortener.exception;
 
+/**
+ * Thrown when a link is past its expiry. A routine outcome like
+ * {@link UrlNotFoundException}, so it is created without a stack trace.
+ */
 public class UrlExpiredException extends RuntimeException {
     public UrlExpiredException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
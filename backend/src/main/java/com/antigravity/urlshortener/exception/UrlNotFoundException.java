@@ -1,7 +1,11 @@
 package com.antigravity.urlshortener.exception;
 
+/**
+ * Thrown for ordinary lookup misses, which bots can trigger at high rates.
+ * Handlers only log the message, so the stack trace is not captured.
+ */
 public class UrlNotFoundException extends RuntimeException {
     public UrlNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
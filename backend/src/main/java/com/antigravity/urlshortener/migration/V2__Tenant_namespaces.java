@@ -0,0 +1,151 @@
+package com.antigravity.urlshortener.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves url_mapping to per-tenant namespaces: adds tenant_id, replaces the
+ * global unique keys on short_code and url_hash with (tenant_id, ...) keys and
+ * adds the index used by the expiry scheduler.
+ *
+ * Written in Java because databases created by ddl-auto=update name the old
+ * unique keys differently per database (idx_* on MySQL, generated names on
+ * H2), so they are looked up rather than dropped by name. Every step is
+ * skipped if already applied, which also covers databases created by
+ * ddl-auto=update after tenancy was introduced.
+ */
+public class V2__Tenant_namespaces extends BaseJavaMigration {
+
+    private static final String TABLE = "url_mapping";
+    private static final Set<Set<String>> GLOBAL_KEYS = Set.of(Set.of("short_code"), Set.of("url_hash"));
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        DatabaseMetaData metaData = connection.getMetaData();
+        String quote = metaData.getIdentifierQuoteString().trim();
+        // Scope metadata lookups to this database: shards may share one MySQL server
+        Scope scope = new Scope(metaData, connection.getCatalog(), connection.getSchema());
+
+        try (Statement statement = connection.createStatement()) {
+            if (!scope.columnExists("tenant_id")) {
+                statement.execute("ALTER TABLE url_mapping ADD COLUMN tenant_id VARCHAR(32) DEFAULT 'default' NOT NULL");
+            }
+
+            // Unique constraints first (on H2 they own their backing index), then plain unique indexes
+            for (String constraint : globalUniqueConstraints(connection, scope)) {
+                statement.execute("ALTER TABLE url_mapping DROP CONSTRAINT " + quote + constraint + quote);
+            }
+            for (String index : scope.globalUniqueIndexes()) {
+                statement.execute("DROP INDEX " + quote + index + quote
+                        + (metaData.getDatabaseProductName().equals("MySQL") ? " ON url_mapping" : ""));
+            }
+
+            Set<String> indexes = scope.indexNames();
+            if (!indexes.contains("idx_tenant_short_code")) {
+                statement.execute("CREATE UNIQUE INDEX idx_tenant_short_code ON url_mapping (tenant_id, short_code)");
+            }
+            if (!indexes.contains("idx_tenant_url_hash")) {
+                statement.execute("CREATE UNIQUE INDEX idx_tenant_url_hash ON url_mapping (tenant_id, url_hash)");
+            }
+            if (!indexes.contains("idx_active_expires_at")) {
+                statement.execute("CREATE INDEX idx_active_expires_at ON url_mapping (is_active, expires_at)");
+            }
+        }
+    }
+
+    /** Names of UNIQUE constraints covering exactly short_code or url_hash */
+    private static List<String> globalUniqueConstraints(Connection connection, Scope scope) throws SQLException {
+        // MySQL reports databases as catalogs, H2 as schemas
+        String schema = scope.schema() != null ? scope.schema() : scope.catalog();
+        Map<String, Set<String>> columns = new HashMap<>();
+        try (PreparedStatement query = connection.prepareStatement("""
+                SELECT tc.CONSTRAINT_NAME, k.COLUMN_NAME
+                FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc
+                JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k
+                  ON k.CONSTRAINT_NAME = tc.CONSTRAINT_NAME
+                 AND k.TABLE_SCHEMA = tc.TABLE_SCHEMA
+                 AND k.TABLE_NAME = tc.TABLE_NAME
+                WHERE tc.CONSTRAINT_TYPE = 'UNIQUE'
+                  AND LOWER(tc.TABLE_NAME) = ?
+                  AND LOWER(tc.TABLE_SCHEMA) = LOWER(?)
+                """)) {
+            query.setString(1, TABLE);
+            query.setString(2, schema);
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    columns.computeIfAbsent(rs.getString(1), name -> new HashSet<>())
+                            .add(rs.getString(2).toLowerCase());
+                }
+            }
+        }
+        return columns.entrySet().stream()
+                .filter(entry -> isGlobalKey(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static boolean isGlobalKey(Set<String> columns) {
+        return GLOBAL_KEYS.contains(columns);
+    }
+
+    private record Scope(DatabaseMetaData metaData, String catalog, String schema) {
+
+        boolean columnExists(String column) throws SQLException {
+            for (String table : List.of(TABLE, TABLE.toUpperCase())) {
+                try (ResultSet rs = metaData.getColumns(catalog, schema, table, null)) {
+                    while (rs.next()) {
+                        if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /** Names of unique indexes covering exactly short_code or url_hash */
+        List<String> globalUniqueIndexes() throws SQLException {
+            return indexColumns(true).entrySet().stream()
+                    .filter(entry -> isGlobalKey(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+
+        Set<String> indexNames() throws SQLException {
+            Set<String> names = new HashSet<>();
+            for (String index : indexColumns(false).keySet()) {
+                names.add(index.toLowerCase());
+            }
+            return names;
+        }
+
+        private Map<String, Set<String>> indexColumns(boolean uniqueOnly) throws SQLException {
+            Map<String, Set<String>> columns = new HashMap<>();
+            for (String table : List.of(TABLE, TABLE.toUpperCase())) {
+                try (ResultSet rs = metaData.getIndexInfo(catalog, schema, table, uniqueOnly, false)) {
+                    while (rs.next()) {
+                        String index = rs.getString("INDEX_NAME");
+                        String column = rs.getString("COLUMN_NAME");
+                        if (index != null && column != null) {
+                            columns.computeIfAbsent(index, name -> new HashSet<>()).add(column.toLowerCase());
+                        }
+                    }
+                }
+            }
+            return columns;
+        }
+    }
+}
@@ -1,26 +1,91 @@
 package com.antigravity.urlshortener.repository;
 
+import com.antigravity.urlshortener.dto.ExpiringLink;
 import com.antigravity.urlshortener.entity.UrlMapping;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UrlMappingRepository extends JpaRepository<UrlMapping, Long> {
 
-    Optional<UrlMapping> findByShortCode(String shortCode);
+    /**
+     * Loaded entities are never modified by callers (clicks go through
+     * {@link #incrementClickCount}), so Hibernate can skip the dirty-checking
+     * snapshot.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<UrlMapping> findByTenantIdAndShortCode(String tenantId, String shortCode);
 
-    Optional<UrlMapping> findByUrlHash(String urlHash);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<UrlMapping> findByTenantIdAndUrlHash(String tenantId, String urlHash);
 
     @Modifying
     @Query("""
                 UPDATE UrlMapping u
                 SET u.clickCount = u.clickCount + 1
-                WHERE u.shortCode = :shortCode
+                WHERE u.tenantId = :tenantId AND u.shortCode = :shortCode
             """)
-    int incrementClickCount(@Param("shortCode") String shortCode);
+    int incrementClickCount(@Param("tenantId") String tenantId, @Param("shortCode") String shortCode);
+
+    /**
+     * Active mappings expiring at or before {@code until}, earliest first.
+     * Served by idx_active_expires_at. Ordering by isActive (constant here)
+     * as well matches the index columns, so H2 reads the first rows in index
+     * order instead of sorting every overdue row; MySQL does either way.
+     */
+    @Query("""
+                SELECT new com.antigravity.urlshortener.dto.ExpiringLink(u.id, u.tenantId, u.shortCode, u.expiresAt)
+                FROM UrlMapping u
+                WHERE u.isActive = true AND u.shortCode IS NOT NULL AND u.expiresAt <= :until
+                ORDER BY u.isActive, u.expiresAt
+            """)
+    List<ExpiringLink> findActiveExpiringBefore(@Param("until") LocalDateTime until, Pageable pageable);
+
+    /**
+     * Deactivates a batch of overdue mappings selected by
+     * {@link #findActiveExpiringBefore}, by primary key, skipping any whose
+     * expiry was extended in the meantime. The reason is recorded so that
+     * {@link #updateExpiry} can tell them apart from manually disabled links.
+     */
+    @Modifying
+    @Query("""
+                UPDATE UrlMapping u
+                SET u.isActive = false,
+                    u.deactivationReason = com.antigravity.urlshortener.entity.DeactivationReason.EXPIRED
+                WHERE u.id IN :ids AND u.isActive = true AND u.expiresAt <= :now
+            """)
+    int deactivateExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Sets a new expiry. Links the expiry scheduler deactivated are
+     * reactivated; manually disabled links stay inactive. isActive is assigned
+     * before the reason is cleared because MySQL evaluates SET clauses left to
+     * right.
+     */
+    @Modifying
+    @Query("""
+                UPDATE UrlMapping u
+                SET u.isActive = CASE
+                        WHEN u.deactivationReason = com.antigravity.urlshortener.entity.DeactivationReason.EXPIRED
+                        THEN true ELSE u.isActive END,
+                    u.deactivationReason = CASE
+                        WHEN u.deactivationReason = com.antigravity.urlshortener.entity.DeactivationReason.EXPIRED
+                        THEN null ELSE u.deactivationReason END,
+                    u.expiresAt = :expiresAt
+                WHERE u.tenantId = :tenantId AND u.shortCode = :shortCode
+            """)
+    int updateExpiry(@Param("tenantId") String tenantId, @Param("shortCode") String shortCode,
+            @Param("expiresAt") LocalDateTime expiresAt);
 }
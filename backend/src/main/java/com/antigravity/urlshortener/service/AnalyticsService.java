@@ -4,6 +4,7 @@ import com.antigravity.urlshortener.dto.AnalyticsResponse;
 import com.antigravity.urlshortener.entity.UrlMapping;
 import com.antigravity.urlshortener.exception.UrlNotFoundException;
 import com.antigravity.urlshortener.repository.UrlMappingRepository;
+import com.antigravity.urlshortener.util.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,16 +14,26 @@ import org.springframework.transaction.annotation.Transactional;
 public class AnalyticsService {
 
     private final UrlMappingRepository repository;
+    private final ShardRouter shardRouter;
+    private final ClickEnrichmentService clickEnrichmentService;
 
     @Transactional(readOnly = true)
-    public AnalyticsResponse getAnalytics(String shortCode) {
-        UrlMapping mapping = repository.findByShortCode(shortCode)
+    public AnalyticsResponse getAnalytics(String tenantId, String shortCode) {
+        String shard = shardRouter.shardForCode(tenantId, shortCode)
                 .orElseThrow(() -> new UrlNotFoundException("URL mapping not found for code: " + shortCode));
+        UrlMapping mapping = shardRouter.onShard(shard,
+                () -> repository.findByTenantIdAndShortCode(tenantId, shortCode))
+                .orElseThrow(() -> new UrlNotFoundException("URL mapping not found for code: " + shortCode));
+
+        ClickStats clicks = clickEnrichmentService.getStats(tenantId, shortCode).orElseGet(ClickStats::new);
 
         return AnalyticsResponse.builder()
                 .originalUrl(mapping.getOriginalUrl())
                 .shortCode(mapping.getShortCode())
                 .clickCount(mapping.getClickCount())
+                .botClickCount(clicks.getBotClicks())
+                .clicksByDevice(clicks.getClicksByDevice())
+                .clicksByCountry(clicks.getClicksByCountry())
                 .createdAt(mapping.getCreatedAt())
                 .expiresAt(mapping.getExpiresAt())
                 .isActive(mapping.isActive())
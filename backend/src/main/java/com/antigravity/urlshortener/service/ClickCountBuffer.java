@@ -0,0 +1,138 @@
+package com.antigravity.urlshortener.service;
+
+import com.antigravity.urlshortener.util.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts clicks served from {@link HotMappingIndex} in memory and adds them to
+ * clickCount in the background, so a hot index hit needs no database call.
+ * Each flush sends one JDBC batch per shard with an UPDATE per short code;
+ * with rewriteBatchedStatements (perf profile) MySQL Connector/J sends it in
+ * one round trip.
+ *
+ * Persisted counts lag by up to app.hot-index.click-flush-millis. Pending
+ * clicks are flushed on shutdown; a crash loses at most one interval. A flush
+ * that finds no row (the link was deleted) evicts it from the hot index.
+ */
+@Service
+@Slf4j
+public class ClickCountBuffer {
+
+    private static final String ADD_CLICKS_SQL =
+            "UPDATE url_mapping SET click_count = click_count + ? WHERE tenant_id = ? AND short_code = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final HotMappingIndex hotMappingIndex;
+
+    private final boolean enabled;
+    private final long flushMillis;
+
+    /** Clicks per code since the last flush; merge/remove are atomic per key */
+    private final ConcurrentHashMap<ClickKey, Long> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    public ClickCountBuffer(JdbcTemplate jdbcTemplate,
+            ShardRouter shardRouter,
+            TransactionTemplate transactionTemplate,
+            HotMappingIndex hotMappingIndex,
+            MeterRegistry meterRegistry,
+            @Value("${app.hot-index.enabled:false}") boolean enabled,
+            @Value("${app.hot-index.click-flush-millis:1000}") long flushMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.hotMappingIndex = hotMappingIndex;
+        this.enabled = enabled;
+        this.flushMillis = flushMillis;
+
+        Gauge.builder("ushort_hot_index_pending_click_codes", pending, Map::size)
+                .description("Short codes with clicks waiting to be added to clickCount")
+                .register(meterRegistry);
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "click-count-flush");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Records one click without touching the database. */
+    public void add(String tenantId, String shortCode) {
+        pending.merge(new ClickKey(tenantId, shortCode), 1L, Long::sum);
+    }
+
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Removing a key hands its count to this flush; clicks arriving later start a new entry
+        Map<String, Map<ClickKey, Long>> byShard = new HashMap<>();
+        for (ClickKey key : new ArrayList<>(pending.keySet())) {
+            Long clicks = pending.remove(key);
+            if (clicks != null) {
+                shardRouter.shardForCode(key.tenantId(), key.shortCode()).ifPresent(shard -> byShard
+                        .computeIfAbsent(shard, s -> new HashMap<>())
+                        .put(key, clicks));
+            }
+        }
+
+        byShard.forEach((shard, clicksByKey) -> {
+            try {
+                List<ClickKey> keys = new ArrayList<>(clicksByKey.keySet());
+                List<Object[]> args = new ArrayList<>(keys.size());
+                for (ClickKey key : keys) {
+                    args.add(new Object[] {clicksByKey.get(key), key.tenantId(), key.shortCode()});
+                }
+                int[] updated = shardRouter.onShard(shard, () -> transactionTemplate.execute(
+                        status -> jdbcTemplate.batchUpdate(ADD_CLICKS_SQL, args)));
+                // Drivers may report Statement.SUCCESS_NO_INFO; only an explicit 0 means no row
+                List<ClickKey> missing = new ArrayList<>();
+                for (int i = 0; i < updated.length; i++) {
+                    if (updated[i] == 0) {
+                        missing.add(keys.get(i));
+                    }
+                }
+                missing.forEach(key -> hotMappingIndex.evict(key.tenantId(), key.shortCode()));
+            } catch (RuntimeException e) {
+                // Keep the clicks for the next flush
+                clicksByKey.forEach((key, clicks) -> pending.merge(key, clicks, Long::sum));
+                log.warn("Click count flush for shard {} failed: {}", shard, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        flush();
+    }
+
+    private record ClickKey(String tenantId, String shortCode) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.antigravity.urlshortener.service;
+
+import com.antigravity.urlshortener.repository.UrlMappingRepository;
+import com.antigravity.urlshortener.util.DeviceClass;
+import com.antigravity.urlshortener.util.GeoIpLookup;
+import com.antigravity.urlshortener.util.ShardRouter;
+import com.antigravity.urlshortener.util.UserAgentClassifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous click enrichment stage fed by successful redirects.
+ *
+ * Redirects only enqueue a lightweight event; a bounded worker pool classifies
+ * the User-Agent (device class, bot flag), resolves the client country and
+ * aggregates counters per short code. When the queue is full, events are
+ * dropped rather than slowing down redirects.
+ *
+ * With app.enrichment.exclude-bots-from-click-count enabled, the persisted
+ * clickCount is incremented here for non-bot clicks instead of on the redirect
+ * path. Dropped events are still counted, unclassified, so no click is lost.
+ *
+ * The enriched counters are kept in memory only: they are per instance, start
+ * from zero on restart and are held in a bounded LRU map
+ * (app.enrichment.stats-cache-size), so codes not clicked for a while lose
+ * their counters first.
+ */
+@Service
+@Slf4j
+public class ClickEnrichmentService {
+
+    private final UserAgentClassifier userAgentClassifier;
+    private final GeoIpLookup geoIpLookup;
+    private final UrlMappingRepository repository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final boolean excludeBots;
+    private final ThreadPoolExecutor executor;
+    private final Map<ClickKey, ClickStats> stats;
+
+    private final Counter processed;
+    private final Counter dropped;
+    private final Counter bots;
+
+    public ClickEnrichmentService(UserAgentClassifier userAgentClassifier,
+            GeoIpLookup geoIpLookup,
+            UrlMappingRepository repository,
+            ShardRouter shardRouter,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.enrichment.enabled:true}") boolean enabled,
+            @Value("${app.enrichment.exclude-bots-from-click-count:false}") boolean excludeBots,
+            @Value("${app.enrichment.workers:2}") int workers,
+            @Value("${app.enrichment.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.enrichment.stats-cache-size:100000}") int statsCacheSize) {
+        this.userAgentClassifier = userAgentClassifier;
+        this.geoIpLookup = geoIpLookup;
+        this.repository = repository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.excludeBots = enabled && excludeBots;
+        this.stats = new LinkedHashMap<>(Math.min(statsCacheSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClickKey, ClickStats> eldest) {
+                return size() > statsCacheSize;
+            }
+        };
+
+        AtomicInteger threadId = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "click-enrichment-" + threadId.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.processed = meterRegistry.counter("ushort_enrichment_processed_total");
+        this.dropped = meterRegistry.counter("ushort_enrichment_dropped_total");
+        this.bots = meterRegistry.counter("ushort_enrichment_bot_clicks_total");
+        Gauge.builder("ushort_enrichment_backlog", executor, e -> e.getQueue().size())
+                .description("Click events waiting for enrichment")
+                .register(meterRegistry);
+        Gauge.builder("ushort_enrichment_stats_entries", this, ClickEnrichmentService::statsEntries)
+                .description("Short codes with enriched counters held in memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("ushort_enrichment_ua_cache_hits_total", userAgentClassifier,
+                        UserAgentClassifier::hits)
+                .description("User-Agent classifications served from the memo cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("ushort_enrichment_ua_cache_misses_total", userAgentClassifier,
+                        UserAgentClassifier::misses)
+                .description("User-Agent classifications computed on a cache miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the redirect path should leave clickCount to this service.
+     */
+    public boolean defersClickCounting() {
+        return excludeBots;
+    }
+
+    /**
+     * Queues a click for enrichment without blocking the caller.
+     */
+    public void submit(String tenantId, String shortCode, String userAgent, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(() -> enrich(new ClickKey(tenantId, shortCode), userAgent, clientIp));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            if (excludeBots) {
+                incrementClickCount(tenantId, shortCode);
+            }
+        }
+    }
+
+    /**
+     * @return Enriched counters for a code, if this instance has seen a click
+     *         for it since startup and has not evicted them
+     */
+    public Optional<ClickStats> getStats(String tenantId, String shortCode) {
+        synchronized (stats) {
+            return Optional.ofNullable(stats.get(new ClickKey(tenantId, shortCode)));
+        }
+    }
+
+    private int statsEntries() {
+        synchronized (stats) {
+            return stats.size();
+        }
+    }
+
+    private void enrich(ClickKey key, String userAgent, String clientIp) {
+        try {
+            DeviceClass device = userAgentClassifier.classify(userAgent);
+            String country = geoIpLookup.countryOf(clientIp);
+            ClickStats clickStats;
+            synchronized (stats) {
+                clickStats = stats.computeIfAbsent(key, k -> new ClickStats());
+            }
+            clickStats.record(device, country);
+
+            if (device == DeviceClass.BOT) {
+                bots.increment();
+            } else if (excludeBots) {
+                incrementClickCount(key.tenantId(), key.shortCode());
+            }
+            processed.increment();
+        } catch (RuntimeException e) {
+            log.warn("Click enrichment failed for {}: {}", key.shortCode(), e.getMessage());
+        }
+    }
+
+    private void incrementClickCount(String tenantId, String shortCode) {
+        shardRouter.shardForCode(tenantId, shortCode).ifPresent(shard -> shardRouter.onShard(shard,
+                () -> transactionTemplate.execute(status -> repository.incrementClickCount(tenantId, shortCode))));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Dropping {} unprocessed click events on shutdown", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+
+    private record ClickKey(String tenantId, String shortCode) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.antigravity.urlshortener.service;
+
+import com.antigravity.urlshortener.util.DeviceClass;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enriched click counters for a single short code, updated concurrently by
+ * the enrichment workers.
+ */
+public class ClickStats {
+
+    private final LongAdder total = new LongAdder();
+    private final Map<DeviceClass, LongAdder> byDevice = new EnumMap<>(DeviceClass.class);
+    private final Map<String, LongAdder> byCountry = new ConcurrentHashMap<>();
+
+    public ClickStats() {
+        for (DeviceClass device : DeviceClass.values()) {
+            byDevice.put(device, new LongAdder());
+        }
+    }
+
+    void record(DeviceClass device, String country) {
+        total.increment();
+        byDevice.get(device).increment();
+        byCountry.computeIfAbsent(country, c -> new LongAdder()).increment();
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getBotClicks() {
+        return byDevice.get(DeviceClass.BOT).sum();
+    }
+
+    /** Non-zero device class counts, keyed by lower-case class name */
+    public Map<String, Long> getClicksByDevice() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        byDevice.forEach((device, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                snapshot.put(device.name().toLowerCase(), value);
+            }
+        });
+        return snapshot;
+    }
+
+    /** Click counts keyed by ISO country code */
+    public Map<String, Long> getClicksByCountry() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        byCountry.forEach((country, count) -> snapshot.put(country, count.sum()));
+        return snapshot;
+    }
+}
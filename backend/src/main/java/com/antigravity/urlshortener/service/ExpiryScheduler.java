@@ -0,0 +1,226 @@
+package com.antigravity.urlshortener.service;
+
+import com.antigravity.urlshortener.config.ShardingProperties;
+import com.antigravity.urlshortener.dto.ExpiringLink;
+import com.antigravity.urlshortener.repository.UrlMappingRepository;
+import com.antigravity.urlshortener.util.ExpiryIndex;
+import com.antigravity.urlshortener.util.ShardContext;
+import com.antigravity.urlshortener.util.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proactively deactivates mappings as they expire.
+ *
+ * Only expirations inside a lookahead horizon are kept in memory: every
+ * refill interval each shard is queried (via idx_active_expires_at) for active
+ * mappings expiring before the next horizon, including any that are already
+ * overdue. New links and expiry changes inside the current horizon are
+ * scheduled directly. A tick thread drains due keys from the {@link ExpiryIndex}
+ * and sweeps the shards they live on: overdue active mappings are selected
+ * by expiry range (idx_active_expires_at) and deactivated by primary key in
+ * batches of batch-size until none are left, so the cost of a batch does not
+ * grow with the backlog. Each deactivated mapping gets a
+ * {@link MappingExpiredEvent} for cache eviction.
+ *
+ * The redirect path still compares expiresAt as a backstop between ticks.
+ */
+@Service
+@Slf4j
+public class ExpiryScheduler {
+
+    private final UrlMappingRepository repository;
+    private final ShardRouter shardRouter;
+    private final ShardingProperties shardingProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+    private final long horizonMillis;
+    private final long refillIntervalMillis;
+    private final long tickMillis;
+    private final int batchSize;
+    private final int maxPending;
+
+    private final ExpiryIndex<ExpiryKey> index;
+    private final Counter deactivated;
+    private final ScheduledExecutorService executor;
+
+    /** End of the window currently loaded into the index */
+    private volatile long horizonEndMillis;
+
+    public ExpiryScheduler(UrlMappingRepository repository,
+            ShardRouter shardRouter,
+            ShardingProperties shardingProperties,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.expiry.scheduler-enabled:true}") boolean enabled,
+            @Value("${app.expiry.tick-millis:1000}") long tickMillis,
+            @Value("${app.expiry.horizon-seconds:900}") long horizonSeconds,
+            @Value("${app.expiry.refill-interval-seconds:300}") long refillIntervalSeconds,
+            @Value("${app.expiry.batch-size:500}") int batchSize,
+            @Value("${app.expiry.max-pending:1000000}") int maxPending) {
+        if (refillIntervalSeconds >= horizonSeconds) {
+            throw new IllegalStateException("app.expiry.refill-interval-seconds must be shorter than horizon-seconds");
+        }
+        this.repository = repository;
+        this.shardRouter = shardRouter;
+        this.shardingProperties = shardingProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.tickMillis = tickMillis;
+        this.horizonMillis = TimeUnit.SECONDS.toMillis(horizonSeconds);
+        this.refillIntervalMillis = TimeUnit.SECONDS.toMillis(refillIntervalSeconds);
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+
+        this.index = new ExpiryIndex<>(tickMillis);
+        this.deactivated = meterRegistry.counter("ushort_expiry_deactivated_total");
+        Gauge.builder("ushort_expiry_pending", index, ExpiryIndex::size)
+                .description("Expirations scheduled inside the current horizon")
+                .register(meterRegistry);
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "expiry-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor.scheduleWithFixedDelay(this::refill, 0, refillIntervalMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Keeps the schedule consistent with a new or changed expiry. Must be
+     * called whenever a mapping's expiresAt is set.
+     */
+    public void schedule(String tenantId, String shortCode, LocalDateTime expiresAt) {
+        if (!enabled) {
+            return;
+        }
+        ExpiryKey key = new ExpiryKey(tenantId, shortCode);
+        if (expiresAt == null) {
+            index.cancel(key);
+            return;
+        }
+        long deadline = toMillis(expiresAt);
+        if (deadline <= horizonEndMillis) {
+            index.schedule(key, deadline);
+        } else {
+            // Picked up by a later refill
+            index.cancel(key);
+        }
+    }
+
+    void refill() {
+        try {
+            long horizonEnd = System.currentTimeMillis() + horizonMillis;
+            LocalDateTime until = toLocalDateTime(horizonEnd);
+            // Widen the window first so links created during the query are scheduled directly
+            horizonEndMillis = horizonEnd;
+            int loaded = 0;
+            for (String shard : shards()) {
+                List<ExpiringLink> links = shardRouter.onShard(shard,
+                        () -> repository.findActiveExpiringBefore(until, PageRequest.of(0, maxPending)));
+                for (ExpiringLink link : links) {
+                    index.schedule(new ExpiryKey(link.getTenantId(), link.getShortCode()),
+                            toMillis(link.getExpiresAt()));
+                }
+                loaded += links.size();
+            }
+            log.debug("Expiry refill loaded {} mappings up to {}", loaded, until);
+        } catch (RuntimeException e) {
+            log.warn("Expiry refill failed: {}", e.getMessage());
+        }
+    }
+
+    void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            Set<String> dueShards = new LinkedHashSet<>();
+            List<ExpiryKey> due;
+            while (!(due = index.pollExpired(now, batchSize)).isEmpty()) {
+                for (ExpiryKey key : due) {
+                    shardRouter.shardForCode(key.tenantId(), key.shortCode()).ifPresent(dueShards::add);
+                }
+            }
+            for (String shard : dueShards) {
+                deactivateOverdue(shard, toLocalDateTime(now));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Expiry tick failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deactivates every mapping on the shard that expired at or before
+     * {@code now}, one batch per transaction.
+     */
+    private void deactivateOverdue(String shard, LocalDateTime now) {
+        List<ExpiringLink> batch;
+        do {
+            batch = shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+                List<ExpiringLink> links = repository.findActiveExpiringBefore(now, PageRequest.of(0, batchSize));
+                if (!links.isEmpty()) {
+                    List<Long> ids = links.stream().map(ExpiringLink::getId).toList();
+                    deactivated.increment(repository.deactivateExpired(ids, now));
+                }
+                return links;
+            }));
+            for (ExpiringLink link : batch) {
+                eventPublisher.publishEvent(new MappingExpiredEvent(link.getTenantId(), link.getShortCode()));
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<String> shards() {
+        List<String> shards = new ArrayList<>();
+        shards.add(ShardContext.PRIMARY_SHARD);
+        shards.addAll(shardingProperties.getShards().keySet());
+        return shards;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record ExpiryKey(String tenantId, String shortCode) {
+    }
+}
@@ -0,0 +1,279 @@
+package com.antigravity.urlshortener.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded LRU of recently redirected mappings, consulted before the database
+ * on redirect (app.hot-index.*).
+ *
+ * With a snapshot path configured, the index is written to disk at a fixed
+ * interval and on shutdown, and loaded before the web server starts, so a new
+ * instance serves its hot links without waiting on a cold database.
+ *
+ * Entries are trusted for ttl-seconds after they were read from the database,
+ * which bounds staleness for changes made through other instances. The
+ * snapshot keeps that time, so a loaded entry is trusted only for what is
+ * left of its ttl and a snapshot older than ttl-seconds loads nothing. Expiry is
+ * checked on every hit; local expiry updates and scheduler deactivations
+ * ({@link MappingExpiredEvent}) evict immediately.
+ */
+@Component
+@Slf4j
+public class HotMappingIndex {
+
+    private static final int MAGIC = 0x55484958; // "UHIX"
+    private static final int VERSION = 2; // 2: entries carry cachedAtMillis
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Path snapshotPath;
+    private final long snapshotIntervalSeconds;
+
+    private final Map<Key, Entry> entries;
+    private long hits;
+    private long misses;
+    private volatile int loadedFromSnapshot;
+    private ScheduledExecutorService snapshotExecutor;
+
+    public HotMappingIndex(@Value("${app.hot-index.enabled:false}") boolean enabled,
+            @Value("${app.hot-index.max-entries:100000}") int maxEntries,
+            @Value("${app.hot-index.ttl-seconds:60}") long ttlSeconds,
+            @Value("${app.hot-index.snapshot-path:}") String snapshotPath,
+            @Value("${app.hot-index.snapshot-interval-seconds:300}") long snapshotIntervalSeconds,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.snapshotPath = enabled && !snapshotPath.isBlank() ? Path.of(snapshotPath) : null;
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        Gauge.builder("ushort_hot_index_size", this, HotMappingIndex::size)
+                .description("Mappings held in the hot redirect index")
+                .register(meterRegistry);
+        FunctionCounter.builder("ushort_hot_index_hits_total", this, HotMappingIndex::hits)
+                .description("Redirects served from the hot redirect index")
+                .register(meterRegistry);
+        FunctionCounter.builder("ushort_hot_index_misses_total", this, HotMappingIndex::misses)
+                .description("Hot redirect index lookups that fell back to the database")
+                .register(meterRegistry);
+        Gauge.builder("ushort_hot_index_snapshot_loaded", this, index -> index.loadedFromSnapshot)
+                .description("Mappings loaded from the snapshot at startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return The cached destination, or null if the mapping is not cached,
+     *         stale or past its expiry (the caller falls back to the database)
+     */
+    public String lookup(String tenantId, String shortCode) {
+        if (!enabled) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Key key = new Key(tenantId, shortCode);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAtMillis() > now && now - entry.cachedAtMillis() < ttlMillis) {
+                hits++;
+                return entry.originalUrl();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            return null;
+        }
+    }
+
+    /** Caches a mapping that was just resolved as active and unexpired. */
+    public void put(String tenantId, String shortCode, String originalUrl, LocalDateTime expiresAt) {
+        if (!enabled) {
+            return;
+        }
+        long expiresAtMillis = expiresAt != null
+                ? expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : NO_EXPIRY;
+        Entry entry = new Entry(originalUrl, expiresAtMillis, System.currentTimeMillis());
+        synchronized (entries) {
+            entries.put(new Key(tenantId, shortCode), entry);
+        }
+    }
+
+    public void evict(String tenantId, String shortCode) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(new Key(tenantId, shortCode));
+        }
+    }
+
+    @EventListener
+    public void onMappingExpired(MappingExpiredEvent event) {
+        evict(event.tenantId(), event.shortCode());
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hits() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    public long misses() {
+        synchronized (entries) {
+            return misses;
+        }
+    }
+
+    /**
+     * Loads the snapshot, if any. Runs during context startup, before the
+     * first request can arrive.
+     */
+    @PostConstruct
+    public void loadSnapshot() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return;
+        }
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        try (InputStream file = Files.newInputStream(snapshotPath);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warn("Ignoring hot index snapshot {} with unknown format", snapshotPath);
+                return;
+            }
+            int count = in.readInt();
+            synchronized (entries) {
+                // Written least recently used first, so insertion restores the LRU order
+                for (int i = 0; i < count; i++) {
+                    Key key = new Key(in.readUTF(), in.readUTF());
+                    String originalUrl = in.readUTF();
+                    long expiresAtMillis = in.readLong();
+                    long cachedAtMillis = in.readLong();
+                    if (expiresAtMillis > now && now - cachedAtMillis < ttlMillis) {
+                        entries.put(key, new Entry(originalUrl, expiresAtMillis, cachedAtMillis));
+                        loaded++;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load hot index snapshot {}: {}", snapshotPath, e.toString());
+            synchronized (entries) {
+                entries.clear();
+            }
+            loaded = 0;
+        }
+        loadedFromSnapshot = loaded;
+        log.info("Loaded {} hot mappings from {} in {} ms", loaded, snapshotPath,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSnapshots() {
+        if (snapshotPath == null || snapshotIntervalSeconds <= 0) {
+            return;
+        }
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "hot-index-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        snapshotExecutor.scheduleWithFixedDelay(this::saveSnapshot, snapshotIntervalSeconds,
+                snapshotIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Writes the index to a temporary file and atomically replaces the
+     * snapshot, so a crash mid-write never leaves a truncated snapshot.
+     */
+    public void saveSnapshot() {
+        if (snapshotPath == null) {
+            return;
+        }
+        List<Map.Entry<Key, Entry>> copy;
+        synchronized (entries) {
+            copy = new ArrayList<>(entries.entrySet());
+        }
+        if (copy.isEmpty()) {
+            return; // keep the previous snapshot, e.g. after a start without traffic
+        }
+        try {
+            Path directory = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, "hot-index", ".tmp");
+            try (OutputStream file = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(copy.size());
+                for (Map.Entry<Key, Entry> e : copy) {
+                    out.writeUTF(e.getKey().tenantId());
+                    out.writeUTF(e.getKey().shortCode());
+                    out.writeUTF(e.getValue().originalUrl());
+                    out.writeLong(e.getValue().expiresAtMillis());
+                    out.writeLong(e.getValue().cachedAtMillis());
+                }
+            }
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote {} hot mappings to {}", copy.size(), snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write hot index snapshot {}: {}", snapshotPath, e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdownNow();
+        }
+        saveSnapshot();
+    }
+
+    private record Key(String tenantId, String shortCode) {
+    }
+
+    private record Entry(String originalUrl, long expiresAtMillis, long cachedAtMillis) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.antigravity.urlshortener.service;
+
+/**
+ * Published after the expiry scheduler deactivates a mapping, so in-memory
+ * caches of mappings can evict it.
+ *
+ * @param tenantId  Tenant namespace of the mapping
+ * @param shortCode Code that is no longer redirectable
+ */
+public record MappingExpiredEvent(String tenantId, String shortCode) {
+}
@@ -9,12 +9,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.antigravity.urlshortener.exception.InvalidUrlException;
+import com.antigravity.urlshortener.exception.UrlConflictException;
 import com.antigravity.urlshortener.exception.UrlExpiredException;
 import com.antigravity.urlshortener.exception.UrlNotFoundException;
 import com.antigravity.urlshortener.util.HashUtils;
+import com.antigravity.urlshortener.util.ShardRouter;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,6 +29,9 @@ import java.util.Optional;
  * 3. Protocol sanitization
  * 4. Deduplication
  * 5. Unique code generation
+ *
+ * Every operation is scoped to a tenant namespace and runs against the shard
+ * chosen by {@link ShardRouter}.
  */
 @Service
 @RequiredArgsConstructor
@@ -32,21 +39,32 @@ public class UrlShortenerService {
 
     private final UrlMappingRepository repository;
     private final Base62Encoder base62Encoder;
+    private final ShardRouter shardRouter;
+    private final ClickEnrichmentService clickEnrichmentService;
+    private final ExpiryScheduler expiryScheduler;
+    private final HotMappingIndex hotMappingIndex;
+    private final ClickCountBuffer clickCountBuffer;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${app.features.deduplicate:true}")
     private boolean deduplicateEnabled;
 
+    @Value("${app.expiry.default-ttl-days:30}")
+    private long defaultTtlDays;
+
     /**
      * Transforms a long URL into a trackable short code.
      * 
+     * @param tenantId       The tenant namespace the link is created in
      * @param request        The request DTO containing the original URL
      * @param currentBaseUrl The base URL of this service (to prevent
      *                       self-shortening)
      * @return ShortenResponse containing the generated code and metadata
      * @throws InvalidUrlException if validation fails or domain is prohibited
+     * @throws UrlConflictException if the tenant already has a link for the URL
+     *                              that the deduplication lookup did not see
      */
-    @Transactional
-    public ShortenResponse shortenUrl(ShortenRequest request, String currentBaseUrl) {
+    public ShortenResponse shortenUrl(String tenantId, ShortenRequest request, String currentBaseUrl) {
         String originalUrl = request.getOriginalUrl();
 
         // 1. Basic Hardening: Check for nulls, blanks and excessive length
@@ -80,32 +98,74 @@ public class UrlShortenerService {
             throw new InvalidUrlException("Only http and https protocols are allowed");
         }
 
-        // 4. Deduplication Logic: Reuse existing codes for identical URLs (if enabled)
         String urlHash = HashUtils.sha256(originalUrl);
+        ShardRouter.Route route = shardRouter.routeForNewLink(tenantId, urlHash);
+        String sanitizedUrl = originalUrl;
+        LocalDateTime expiresAt = request.getExpiresAt() != null
+                ? request.getExpiresAt()
+                : LocalDateTime.now().plusDays(defaultTtlDays);
         if (deduplicateEnabled) {
-            Optional<UrlMapping> existing = repository.findByUrlHash(urlHash);
+            Optional<UrlMapping> existing = findOnOtherShards(tenantId, route.shard(), urlHash);
+            if (existing.isPresent()) {
+                return toResponse(existing.get());
+            }
+        }
+        return shardRouter.onShard(route.shard(), () -> transactionTemplate.execute(
+                status -> createMapping(tenantId, route, sanitizedUrl, urlHash, expiresAt)));
+    }
+
+    /**
+     * Looks for the tenant's link to a URL on the shards new links for it are
+     * not routed to. Appending a shard changes the routing, so a link created
+     * before that may live on any of the tenant's shards.
+     */
+    private Optional<UrlMapping> findOnOtherShards(String tenantId, String routedShard, String urlHash) {
+        List<String> shards = shardRouter.shardsOf(tenantId);
+        for (String shard : shards) {
+            if (shard.equals(routedShard)) {
+                continue;
+            }
+            Optional<UrlMapping> existing = shardRouter.onShard(shard, () -> transactionTemplate.execute(
+                    status -> repository.findByTenantIdAndUrlHash(tenantId, urlHash)));
             if (existing.isPresent()) {
-                UrlMapping mapping = existing.get();
-                return ShortenResponse.builder()
-                        .originalUrl(mapping.getOriginalUrl())
-                        .shortCode(mapping.getShortCode())
-                        .shortUrl(null) // Controller will build this
-                        .expiresAt(mapping.getExpiresAt())
-                        .build();
+                return existing;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Deduplicates and persists a sanitized URL on the shard selected by the
+     * caller.
+     */
+    private ShortenResponse createMapping(String tenantId, ShardRouter.Route route, String originalUrl,
+            String urlHash, LocalDateTime expiresAt) {
+        // 4. Deduplication Logic: Reuse existing codes for identical URLs (if enabled)
+        if (deduplicateEnabled) {
+            Optional<UrlMapping> existing = repository.findByTenantIdAndUrlHash(tenantId, urlHash);
+            if (existing.isPresent()) {
+                return toResponse(existing.get());
             }
         }
 
         // 5. Initial Save to get ID (used as seed for Base62 encoding)
         UrlMapping mapping = new UrlMapping();
+        mapping.setTenantId(tenantId);
         mapping.setOriginalUrl(originalUrl);
         mapping.setUrlHash(urlHash);
         mapping.setCreatedAt(LocalDateTime.now());
-        mapping.setExpiresAt(LocalDateTime.now().plusDays(30));
-        mapping = repository.saveAndFlush(mapping);
+        mapping.setExpiresAt(expiresAt);
+        try {
+            mapping = repository.saveAndFlush(mapping);
+        } catch (org.springframework.dao.DataIntegrityViolationException e) {
+            // The tenant already has this URL (url_hash is unique per tenant), e.g.
+            // a concurrent request inserted it after the deduplication lookup
+            throw new UrlConflictException("A short link for this URL already exists. Please try again.");
+        }
 
-        // 4. Generate Short Code: Combine Base62(ID) with a random 2-char suffix for
-        // collision resistance
-        String core = base62Encoder.encode(mapping.getId());
+        // 4. Generate Short Code: Combine the shard prefix and Base62(ID) with a
+        // random 2-char suffix for collision resistance
+        String core = route.codePrefix() + base62Encoder.encode(mapping.getId());
         String shortCode = core + base62Encoder.generateRandomSuffix(2);
         mapping.setShortCode(shortCode);
 
@@ -123,10 +183,15 @@ public class UrlShortenerService {
             }
         }
 
+        expiryScheduler.schedule(tenantId, mapping.getShortCode(), mapping.getExpiresAt());
+        return toResponse(mapping);
+    }
+
+    private ShortenResponse toResponse(UrlMapping mapping) {
         return ShortenResponse.builder()
                 .originalUrl(mapping.getOriginalUrl())
                 .shortCode(mapping.getShortCode())
-                .shortUrl(null) // To be populated by controller
+                .shortUrl(null) // Controller will build this
                 .expiresAt(mapping.getExpiresAt())
                 .build();
     }
@@ -134,31 +199,87 @@ public class UrlShortenerService {
     /**
      * Resolves a short code back to its original destination URL.
      * Features atomic click tracking and expiration validation.
+     * The shard is derived from the code, so resolution is a single lookup.
+     * Hot links are served from {@link HotMappingIndex} without touching the
+     * database; their clicks are counted by {@link ClickCountBuffer}.
      * 
+     * @param tenantId  The tenant namespace the code belongs to
      * @param shortCode The identifier for the redirection
      * @return The original long URL
      * @throws UrlNotFoundException if code doesn't exist or is deactivated
      * @throws UrlExpiredException  if the link has passed its expiry date
      */
     @Transactional
-    public String getOriginalUrl(String shortCode) {
-
-        UrlMapping mapping = repository.findByShortCode(shortCode)
+    public String getOriginalUrl(String tenantId, String shortCode) {
+        String shard = shardRouter.shardForCode(tenantId, shortCode)
                 .orElseThrow(() -> new UrlNotFoundException("URL mapping not found for code: " + shortCode));
+        return shardRouter.onShard(shard, () -> {
+            String cached = hotMappingIndex.lookup(tenantId, shortCode);
+            if (cached != null) {
+                // No database call on a hit: the click is added to clickCount in the background
+                if (!clickEnrichmentService.defersClickCounting()) {
+                    clickCountBuffer.add(tenantId, shortCode);
+                }
+                return cached;
+            }
+            return resolve(tenantId, shortCode);
+        });
+    }
 
-        if (!mapping.isActive()) {
-            throw new UrlNotFoundException("This link has been deactivated");
-        }
+    private String resolve(String tenantId, String shortCode) {
+        UrlMapping mapping = repository.findByTenantIdAndShortCode(tenantId, shortCode)
+                .orElseThrow(() -> new UrlNotFoundException("URL mapping not found for code: " + shortCode));
 
+        // Expiry is checked first: the expiry scheduler also deactivates expired links
         if (mapping.getExpiresAt() != null &&
                 mapping.getExpiresAt().isBefore(LocalDateTime.now())) {
             throw new UrlExpiredException("URL has expired");
         }
 
-        // 🔥 Atomic increment click count in DB
-        repository.incrementClickCount(shortCode);
+        if (!mapping.isActive()) {
+            throw new UrlNotFoundException("This link has been deactivated");
+        }
+
+        // 🔥 Atomic increment click count in DB (deferred to enrichment when bots
+        // are excluded from the count)
+        if (!clickEnrichmentService.defersClickCounting()) {
+            repository.incrementClickCount(tenantId, shortCode);
+        }
 
+        hotMappingIndex.put(tenantId, shortCode, mapping.getOriginalUrl(), mapping.getExpiresAt());
         return mapping.getOriginalUrl();
     }
 
+    /**
+     * Sets or extends the expiry of an existing link and keeps the expiry
+     * schedule in sync. A link the expiry scheduler deactivated becomes active
+     * again; a manually disabled link stays inactive.
+     * 
+     * @param tenantId  The tenant namespace the code belongs to
+     * @param shortCode The identifier of the link
+     * @param expiresAt The new expiry timestamp
+     * @return ShortenResponse describing the updated link
+     * @throws UrlNotFoundException if the code doesn't exist
+     */
+    @Transactional
+    public ShortenResponse updateExpiry(String tenantId, String shortCode, LocalDateTime expiresAt) {
+        String shard = shardRouter.shardForCode(tenantId, shortCode)
+                .orElseThrow(() -> new UrlNotFoundException("URL mapping not found for code: " + shortCode));
+
+        UrlMapping mapping = shardRouter.onShard(shard, () -> {
+            if (repository.updateExpiry(tenantId, shortCode, expiresAt) == 0) {
+                throw new UrlNotFoundException("URL mapping not found for code: " + shortCode);
+            }
+            return repository.findByTenantIdAndShortCode(tenantId, shortCode).orElseThrow();
+        });
+        expiryScheduler.schedule(tenantId, shortCode, expiresAt);
+        hotMappingIndex.evict(tenantId, shortCode);
+
+        return ShortenResponse.builder()
+                .originalUrl(mapping.getOriginalUrl())
+                .shortCode(mapping.getShortCode())
+                .shortUrl(null) // To be populated by controller
+                .expiresAt(mapping.getExpiresAt())
+                .build();
+    }
 }
@@ -18,6 +18,16 @@ public class Base62Encoder {
         return sb.toString();
     }
 
+    /** Single Base62 character for a value in [0, 62). */
+    public char digit(int value) {
+        return ALPHABET.charAt(value);
+    }
+
+    /** Value of a single Base62 character, or -1 if it is not in the alphabet. */
+    public int digitValue(char c) {
+        return ALPHABET.indexOf(c);
+    }
+
     public String encode(long value) {
         StringBuilder sb = new StringBuilder();
         if (value == 0) {
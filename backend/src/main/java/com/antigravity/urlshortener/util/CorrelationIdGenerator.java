@@ -0,0 +1,77 @@
+package com.antigravity.urlshortener.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap, non-blocking correlation ID source.
+ *
+ * IDs have the form {@code <node>-<boot>-<sequence>}: a node prefix (from
+ * app.node-id, or derived from the host name and PID), the process start
+ * time in seconds and a per-process counter, all Base62. They are unique
+ * across nodes and restarts and monotonic within a process, and cost one
+ * atomic increment instead of a SecureRandom-backed UUID.
+ */
+@Component
+public class CorrelationIdGenerator {
+
+    private static final char[] ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    /** Base62 digits needed for any positive long */
+    private static final int MAX_SEQUENCE_DIGITS = 11;
+
+    private final char[] prefix;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public CorrelationIdGenerator(@Value("${app.node-id:}") String nodeId) {
+        String node = nodeId != null && !nodeId.isBlank() ? nodeId : deriveNodeId();
+        long bootSeconds = System.currentTimeMillis() / 1000;
+        this.prefix = (node + "-" + encode(bootSeconds) + "-").toCharArray();
+    }
+
+    public String next() {
+        long value = sequence.incrementAndGet();
+        char[] buf = new char[prefix.length + MAX_SEQUENCE_DIGITS];
+        System.arraycopy(prefix, 0, buf, 0, prefix.length);
+
+        // Write digits right-aligned, then shift left over the unused slots
+        int pos = buf.length;
+        do {
+            buf[--pos] = ALPHABET[(int) (value % 62)];
+            value /= 62;
+        } while (value > 0);
+        int digits = buf.length - pos;
+        System.arraycopy(buf, pos, buf, prefix.length, digits);
+        return new String(buf, 0, prefix.length + digits);
+    }
+
+    /**
+     * Four Base62 characters from the host name and PID. Avoids
+     * InetAddress.getLocalHost(), which can block on DNS.
+     */
+    private static String deriveNodeId() {
+        String host = System.getenv("HOSTNAME");
+        if (host == null || host.isBlank()) {
+            host = System.getenv("COMPUTERNAME");
+        }
+        long hash = ((long) (host == null ? 0 : host.hashCode()) << 20) ^ ProcessHandle.current().pid();
+        hash = Math.floorMod(hash, 62L * 62 * 62 * 62);
+        char[] node = new char[4];
+        for (int i = 3; i >= 0; i--) {
+            node[i] = ALPHABET[(int) (hash % 62)];
+            hash /= 62;
+        }
+        return new String(node);
+    }
+
+    private static String encode(long value) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append(ALPHABET[(int) (value % 62)]);
+            value /= 62;
+        } while (value > 0);
+        return sb.reverse().toString();
+    }
+}
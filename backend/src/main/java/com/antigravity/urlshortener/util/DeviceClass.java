@@ -0,0 +1,12 @@
+package com.antigravity.urlshortener.util;
+
+/**
+ * Coarse device classes derived from a User-Agent header.
+ */
+public enum DeviceClass {
+    DESKTOP,
+    MOBILE,
+    TABLET,
+    BOT,
+    UNKNOWN
+}
@@ -0,0 +1,108 @@
+package com.antigravity.urlshortener.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of upcoming expirations, bucketed by tick.
+ *
+ * Deadlines are rounded up to the tick size and keys are appended to the bucket
+ * of their tick, so scheduling is O(log buckets) and draining a tick touches
+ * only keys that are actually due. Rescheduling and cancellation are O(1):
+ * the authoritative deadline lives in a side map, and stale bucket entries are
+ * skipped lazily when their bucket is drained.
+ *
+ * Thread-safe; all operations synchronize on the index.
+ *
+ * @param <K> Key identifying a scheduled item
+ */
+public class ExpiryIndex<K> {
+
+    private final long tickMillis;
+    private final TreeMap<Long, List<K>> buckets = new TreeMap<>();
+    private final Map<K, Long> deadlines = new HashMap<>();
+
+    public ExpiryIndex(long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * Schedules {@code key} to expire at {@code deadlineMillis}, replacing any
+     * previous deadline for the same key.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        long tick = Math.ceilDiv(deadlineMillis, tickMillis);
+        Long previous = deadlines.put(key, tick);
+        if (previous == null || previous.longValue() != tick) {
+            buckets.computeIfAbsent(tick, t -> new ArrayList<>()).add(key);
+        }
+    }
+
+    /**
+     * @return true if the key was scheduled
+     */
+    public synchronized boolean cancel(K key) {
+        return deadlines.remove(key) != null;
+    }
+
+    /**
+     * Removes and returns up to {@code max} keys whose deadline is at or
+     * before {@code nowMillis}, earliest first.
+     */
+    public synchronized List<K> pollExpired(long nowMillis, int max) {
+        List<K> expired = new ArrayList<>();
+        Iterator<Map.Entry<Long, List<K>>> it = buckets.entrySet().iterator();
+
+        while (it.hasNext() && expired.size() < max) {
+            Map.Entry<Long, List<K>> bucket = it.next();
+            long tick = bucket.getKey();
+            if (tick * tickMillis > nowMillis) {
+                break;
+            }
+            List<K> keys = bucket.getValue();
+            int i = 0;
+            for (; i < keys.size() && expired.size() < max; i++) {
+                K key = keys.get(i);
+                Long current = deadlines.get(key);
+                if (current != null && current.longValue() == tick) {
+                    deadlines.remove(key);
+                    expired.add(key);
+                }
+            }
+            if (i == keys.size()) {
+                it.remove();
+            } else {
+                keys.subList(0, i).clear();
+            }
+        }
+        return expired;
+    }
+
+    /** Number of keys currently scheduled */
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * @return The earliest scheduled deadline in millis (rounded up to the
+     *         tick), or -1 if nothing is scheduled
+     */
+    public synchronized long nextDeadline() {
+        for (Map.Entry<Long, List<K>> bucket : buckets.entrySet()) {
+            for (K key : bucket.getValue()) {
+                Long current = deadlines.get(key);
+                if (current != null && current.longValue() == bucket.getKey()) {
+                    return bucket.getKey() * tickMillis;
+                }
+            }
+        }
+        return -1;
+    }
+}
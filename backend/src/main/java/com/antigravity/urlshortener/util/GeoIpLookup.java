@@ -0,0 +1,252 @@
+package com.antigravity.urlshortener.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * IPv4-to-country lookup against a local, memory-mapped range table.
+ *
+ * Table layout (big-endian): 4-byte magic "UGEO", 4-byte record count, then
+ * sorted, non-overlapping records of [start int][end int][2-byte ISO country].
+ * Lookups are a binary search over the mapped file, so the table is paged in
+ * by the OS on demand and never copied onto the heap.
+ *
+ * A CSV source ("startIp,endIp,CC" per line, dotted or numeric IPs) is
+ * compiled to a ".bin" table next to it on startup when missing or stale.
+ *
+ * IPv4-mapped IPv6 client addresses (::ffff:a.b.c.d), as reported by
+ * dual-stack listeners and some proxies, are looked up by their IPv4 part.
+ * Other IPv6 addresses are reported as {@value #UNKNOWN_COUNTRY}.
+ */
+@Component
+@Slf4j
+public class GeoIpLookup {
+
+    public static final String UNKNOWN_COUNTRY = "ZZ";
+
+    private static final int MAGIC = 0x5547454F; // "UGEO"
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_BYTES = 10;
+
+    private final ByteBuffer table;
+    private final int records;
+
+    public GeoIpLookup(@Value("${app.enrichment.geo-db:}") String geoDb) {
+        ByteBuffer mapped = null;
+        int count = 0;
+        if (geoDb != null && !geoDb.isBlank()) {
+            try {
+                Path path = Path.of(geoDb);
+                if (path.getFileName().toString().endsWith(".csv")) {
+                    path = compileIfStale(path);
+                }
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+                if (mapped.getInt(0) != MAGIC) {
+                    throw new IOException("Not a geo range table: " + path);
+                }
+                count = mapped.getInt(4);
+                log.info("Loaded {} geo IP ranges from {}", count, path);
+            } catch (IOException e) {
+                log.warn("Geo IP table unavailable, countries will be reported as {}: {}", UNKNOWN_COUNTRY,
+                        e.getMessage());
+                mapped = null;
+                count = 0;
+            }
+        }
+        this.table = mapped;
+        this.records = count;
+    }
+
+    /**
+     * @param ip Client address: dotted IPv4 or IPv6 text form
+     * @return ISO 3166 alpha-2 code, or {@value #UNKNOWN_COUNTRY} if unknown
+     */
+    public String countryOf(String ip) {
+        if (table == null || ip == null) {
+            return UNKNOWN_COUNTRY;
+        }
+        long address = ip.indexOf(':') >= 0 ? parseMappedIpv4(ip) : parseIpv4(ip);
+        if (address < 0) {
+            return UNKNOWN_COUNTRY;
+        }
+        int key = (int) address;
+
+        int low = 0;
+        int high = records - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = HEADER_BYTES + mid * RECORD_BYTES;
+            if (Integer.compareUnsigned(key, table.getInt(offset)) < 0) {
+                high = mid - 1;
+            } else if (Integer.compareUnsigned(key, table.getInt(offset + 4)) > 0) {
+                low = mid + 1;
+            } else {
+                return new String(new char[] { (char) table.get(offset + 8), (char) table.get(offset + 9) });
+            }
+        }
+        return UNKNOWN_COUNTRY;
+    }
+
+    /**
+     * Parses a dotted IPv4 address without touching DNS.
+     *
+     * @return The address as an unsigned value, or -1 if not IPv4
+     */
+    static long parseIpv4(String ip) {
+        long result = 0;
+        int octet = -1;
+        int dots = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octet >= 0 && dots < 3) {
+                result = (result << 8) | octet;
+                octet = -1;
+                dots++;
+            } else {
+                return -1;
+            }
+        }
+        if (dots != 3 || octet < 0) {
+            return -1;
+        }
+        return (result << 8) | octet;
+    }
+
+    /**
+     * Extracts the IPv4 address from an IPv4-mapped IPv6 address in any of its
+     * text forms (::ffff:1.2.3.4, ::ffff:102:304, 0:0:0:0:0:ffff:1.2.3.4,
+     * optionally bracketed or with a zone id), without touching DNS.
+     *
+     * @return The IPv4 address as an unsigned value, or -1 for any other input
+     */
+    static long parseMappedIpv4(String ip) {
+        String address = ip.toLowerCase(Locale.ROOT);
+        if (address.startsWith("[") && address.endsWith("]")) {
+            address = address.substring(1, address.length() - 1);
+        }
+        int zone = address.indexOf('%');
+        if (zone >= 0) {
+            address = address.substring(0, zone);
+        }
+
+        int last = address.lastIndexOf(':');
+        if (last < 0) {
+            return -1;
+        }
+        String head;
+        long ipv4;
+        if (address.indexOf('.', last) >= 0) {
+            head = address.substring(0, last);
+            ipv4 = parseIpv4(address.substring(last + 1));
+        } else {
+            int previous = address.lastIndexOf(':', last - 1);
+            if (previous < 0) {
+                return -1;
+            }
+            int high = parseHextet(address.substring(previous + 1, last));
+            int low = parseHextet(address.substring(last + 1));
+            head = address.substring(0, previous);
+            ipv4 = high < 0 || low < 0 ? -1 : ((long) high << 16) | low;
+        }
+        // What precedes the IPv4 part must be 80 zero bits and then ffff
+        if (ipv4 < 0 || !head.endsWith(":ffff")) {
+            return -1;
+        }
+        String zeros = head.substring(0, head.length() - ":ffff".length());
+        if (!zeros.chars().allMatch(c -> c == '0' || c == ':')) {
+            return -1;
+        }
+        return head.contains("::") || zeros.split(":", -1).length == 5 ? ipv4 : -1;
+    }
+
+    private static int parseHextet(String hextet) {
+        if (hextet.isEmpty() || hextet.length() > 4) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < hextet.length(); i++) {
+            int digit = Character.digit(hextet.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 16 + digit;
+        }
+        return value;
+    }
+
+    private static Path compileIfStale(Path csv) throws IOException {
+        Path bin = csv.resolveSibling(csv.getFileName() + ".bin");
+        if (Files.exists(bin) && Files.getLastModifiedTime(bin).compareTo(Files.getLastModifiedTime(csv)) >= 0) {
+            return bin;
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length < 3 || line.startsWith("#")) {
+                    continue;
+                }
+                long start = parseAddress(parts[0].trim());
+                long end = parseAddress(parts[1].trim());
+                String country = parts[2].trim().replace("\"", "");
+                if (start < 0 || end < start || country.length() != 2) {
+                    continue; // IPv6 rows, headers and malformed lines
+                }
+                ranges.add(new long[] { start, end, country.charAt(0), country.charAt(1) });
+            }
+        }
+        ranges.sort(Comparator.comparingLong(r -> r[0]));
+
+        Path tmp = Files.createTempFile(bin.toAbsolutePath().getParent(), "geo", ".tmp");
+        try (OutputStream file = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(ranges.size());
+            for (long[] r : ranges) {
+                out.writeInt((int) r[0]);
+                out.writeInt((int) r[1]);
+                out.writeByte((int) r[2]);
+                out.writeByte((int) r[3]);
+            }
+        }
+        Files.move(tmp, bin, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Compiled {} geo IP ranges from {} into {}", ranges.size(), csv, bin);
+        return bin;
+    }
+
+    private static long parseAddress(String value) {
+        value = value.replace("\"", "");
+        if (!value.isEmpty() && value.length() <= 10 && value.chars().allMatch(Character::isDigit)) {
+            long numeric = Long.parseLong(value);
+            return numeric <= 0xFFFFFFFFL ? numeric : -1;
+        }
+        return parseIpv4(value);
+    }
+}
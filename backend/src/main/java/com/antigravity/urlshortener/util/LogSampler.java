@@ -0,0 +1,48 @@
+package com.antigravity.urlshortener.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free rate sampler for high-volume log statements.
+ * Lets through at most {@code permitsPerSecond} events per one-second window
+ * and counts the rest, so the next logged event can report how many similar
+ * events were suppressed.
+ */
+public class LogSampler {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final int permitsPerSecond;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressedSinceLast = new AtomicLong();
+    private final LongAdder totalSuppressed = new LongAdder();
+
+    public LogSampler(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * @return -1 if this event should not be logged; otherwise the number of
+     *         events suppressed since the last one that was logged
+     */
+    public long sample() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permitsPerSecond) {
+            return suppressedSinceLast.getAndSet(0);
+        }
+        suppressedSinceLast.incrementAndGet();
+        totalSuppressed.increment();
+        return -1;
+    }
+
+    public long totalSuppressed() {
+        return totalSuppressed.sum();
+    }
+}
@@ -0,0 +1,43 @@
+package com.antigravity.urlshortener.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the database shard that JDBC connections on the current thread are
+ * routed to. Read by ShardRoutingDataSource when a physical connection is
+ * first needed, so it must be set before the first statement of a transaction.
+ */
+public final class ShardContext {
+
+    public static final String PRIMARY_SHARD = "primary";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return The shard selected for this thread, or null for the primary shard
+     */
+    public static String getShard() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the given work with connections routed to {@code shard}, restoring
+     * the previous selection afterwards.
+     */
+    public static <T> T callOn(String shard, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.antigravity.urlshortener.util;
+
+import com.antigravity.urlshortener.config.ShardingProperties;
+import com.antigravity.urlshortener.config.TenancyProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Maps tenants and short codes to database shards.
+ *
+ * Every code of a configured tenant starts with a one-character Base62
+ * prefix naming the index of its shard in the tenant's shard list, from the
+ * tenant's first link on and even while it has a single shard. A redirect can
+ * therefore pick its shard from the code alone and still resolve with a single
+ * lookup, and appending a shard later leaves existing codes valid.
+ *
+ * The default tenant keeps plain codes: its links predate tenancy, so it
+ * always lives on the primary shard.
+ */
+@Component
+public class ShardRouter {
+
+    private static final List<String> DEFAULT_SHARDS = List.of(ShardContext.PRIMARY_SHARD);
+
+    private final Map<String, List<String>> tenantShards = new HashMap<>();
+    private final Base62Encoder base62Encoder;
+
+    public ShardRouter(TenancyProperties tenancyProperties, ShardingProperties shardingProperties,
+            Base62Encoder base62Encoder) {
+        this.base62Encoder = base62Encoder;
+
+        Set<String> knownShards = new HashSet<>(shardingProperties.getShards().keySet());
+        knownShards.add(ShardContext.PRIMARY_SHARD);
+
+        tenancyProperties.getTenants().forEach((tenantId, tenant) -> {
+            if (tenantId.length() > 32) {
+                throw new IllegalStateException("Tenant id too long (max 32 characters): " + tenantId);
+            }
+            List<String> shards = List.copyOf(tenant.getShards());
+            if (shards.isEmpty() || shards.size() > 62) {
+                throw new IllegalStateException("Tenant '" + tenantId + "' must use between 1 and 62 shards");
+            }
+            for (String shard : shards) {
+                if (!knownShards.contains(shard)) {
+                    throw new IllegalStateException("Tenant '" + tenantId + "' references unknown shard: " + shard);
+                }
+            }
+            if (tenantId.equals(TenantContext.DEFAULT_TENANT) && !shards.equals(DEFAULT_SHARDS)) {
+                throw new IllegalStateException("The default tenant has unprefixed codes and must stay on the "
+                        + ShardContext.PRIMARY_SHARD + " shard only, but is configured with " + shards);
+            }
+            tenantShards.put(tenantId, shards);
+        });
+        tenantShards.putIfAbsent(TenantContext.DEFAULT_TENANT, DEFAULT_SHARDS);
+    }
+
+    /**
+     * Chooses the shard for a new link. The choice is a function of the URL
+     * hash, so repeated requests for a URL normally land on the same shard;
+     * after a shard is appended, older links for the URL may still sit on
+     * another one of {@link #shardsOf(String)}.
+     */
+    public Route routeForNewLink(String tenantId, String urlHash) {
+        List<String> shards = shardsOf(tenantId);
+        if (tenantId.equals(TenantContext.DEFAULT_TENANT)) {
+            return new Route(ShardContext.PRIMARY_SHARD, "");
+        }
+        int index = Math.floorMod(urlHash.hashCode(), shards.size());
+        return new Route(shards.get(index), String.valueOf(base62Encoder.digit(index)));
+    }
+
+    /**
+     * Finds the shard holding a short code without touching the database.
+     *
+     * @return The shard, or empty if the code cannot belong to this tenant
+     */
+    public Optional<String> shardForCode(String tenantId, String shortCode) {
+        List<String> shards = shardsOf(tenantId);
+        if (tenantId.equals(TenantContext.DEFAULT_TENANT)) {
+            return Optional.of(ShardContext.PRIMARY_SHARD);
+        }
+        if (shortCode == null || shortCode.isEmpty()) {
+            return Optional.empty();
+        }
+        int index = base62Encoder.digitValue(shortCode.charAt(0));
+        return index >= 0 && index < shards.size() ? Optional.of(shards.get(index)) : Optional.empty();
+    }
+
+    /**
+     * Runs the given work with JDBC connections routed to {@code shard}.
+     */
+    public <T> T onShard(String shard, Supplier<T> work) {
+        return ShardContext.callOn(shard, work);
+    }
+
+    /**
+     * Shards holding the given tenant's links, in configuration order.
+     */
+    public List<String> shardsOf(String tenantId) {
+        List<String> shards = tenantShards.get(tenantId);
+        if (shards == null) {
+            throw new IllegalStateException("Unknown tenant: " + tenantId);
+        }
+        return shards;
+    }
+
+    /**
+     * @param shard      Shard the link is stored in
+     * @param codePrefix Prefix to prepend to the generated code (may be empty)
+     */
+    public record Route(String shard, String codePrefix) {
+    }
+}
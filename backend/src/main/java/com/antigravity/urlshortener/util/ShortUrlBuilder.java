@@ -1,5 +1,6 @@
 package com.antigravity.urlshortener.util;
 
+import com.antigravity.urlshortener.config.TenancyProperties;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -7,17 +8,31 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 @Component
 public class ShortUrlBuilder {
 
+    private final TenancyProperties tenancyProperties;
+
     @Value("${app.base-url:}")
     private String configuredBaseUrl;
 
+    public ShortUrlBuilder(TenancyProperties tenancyProperties) {
+        this.tenancyProperties = tenancyProperties;
+    }
+
     /**
-     * Derives the base URL from configuration or current request context.
+     * Derives the base URL for the current tenant: its configured base URL
+     * first. A tenant served on its own domains otherwise uses the current
+     * request context, since a link on the global domain would resolve to the
+     * default tenant. Everyone else uses the global configuration, then the
+     * current request context.
      * 
      * @return Base URL without trailing slash
      */
     public String getBaseUrl() {
         String baseUrl;
-        if (configuredBaseUrl != null && !configuredBaseUrl.isBlank()) {
+        TenancyProperties.Tenant tenant = tenancyProperties.getTenants().get(TenantContext.getTenantId());
+        if (tenant != null && tenant.getBaseUrl() != null && !tenant.getBaseUrl().isBlank()) {
+            baseUrl = tenant.getBaseUrl();
+        } else if ((tenant == null || tenant.getDomains().isEmpty())
+                && configuredBaseUrl != null && !configuredBaseUrl.isBlank()) {
             baseUrl = configuredBaseUrl;
         } else {
             baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
@@ -0,0 +1,41 @@
+package com.antigravity.urlshortener.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records how long after JVM start the first redirect was served, as
+ * ushort_startup_first_redirect_seconds (NaN until then). Unlike Boot's
+ * application.ready.time this includes the time to the first DB or hot
+ * index lookup, which is what a newly scaled-out instance is waiting for.
+ */
+@Component
+@Slf4j
+public class StartupMetrics {
+
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    private volatile double firstRedirectMillis = Double.NaN;
+
+    public StartupMetrics(MeterRegistry meterRegistry) {
+        TimeGauge.builder("ushort_startup_first_redirect", this, TimeUnit.MILLISECONDS,
+                        metrics -> metrics.firstRedirectMillis)
+                .description("Time from JVM start to the first served redirect")
+                .register(meterRegistry);
+    }
+
+    /** Called for every successful redirect; only the first one is recorded. */
+    public void redirectServed() {
+        if (recorded.get() || !recorded.compareAndSet(false, true)) {
+            return;
+        }
+        long millis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        firstRedirectMillis = millis;
+        log.info("First redirect served {} ms after JVM start", millis);
+    }
+}
@@ -0,0 +1,29 @@
+package com.antigravity.urlshortener.util;
+
+/**
+ * Holds the tenant resolved for the current request thread.
+ * Populated by TenantFilter; falls back to the default tenant outside of a
+ * request (e.g. scheduled jobs).
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenantId() {
+        String tenantId = CURRENT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        CURRENT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,96 @@
+package com.antigravity.urlshortener.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Classifies User-Agent strings into device classes and flags bots.
+ * Real traffic repeats a small set of User-Agents, so results are memoized in
+ * a bounded LRU map; the keyword scan only runs on a cache miss.
+ */
+@Component
+public class UserAgentClassifier {
+
+    /** UAs longer than this are truncated before caching to bound memory */
+    private static final int MAX_KEY_LENGTH = 512;
+
+    private static final String[] BOT_TOKENS = {
+            "bot", "crawl", "spider", "slurp", "curl/", "wget", "python-requests", "python-urllib",
+            "httpclient", "okhttp", "go-http-client", "java/", "headless", "phantomjs", "facebookexternalhit",
+            "preview", "monitor", "scanner", "lighthouse"
+    };
+
+    private final Map<String, DeviceClass> cache;
+    private long hits;
+    private long misses;
+
+    public UserAgentClassifier(@Value("${app.enrichment.ua-cache-size:10000}") int cacheSize) {
+        this.cache = new LinkedHashMap<>(Math.min(cacheSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DeviceClass> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * @param userAgent Raw User-Agent header (may be null)
+     * @return The device class; {@link DeviceClass#BOT} for automated clients
+     */
+    public DeviceClass classify(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return DeviceClass.BOT;
+        }
+        String key = userAgent.length() > MAX_KEY_LENGTH ? userAgent.substring(0, MAX_KEY_LENGTH) : userAgent;
+
+        synchronized (cache) {
+            DeviceClass cached = cache.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        DeviceClass result = parse(key.toLowerCase(Locale.ROOT));
+        synchronized (cache) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    public long hits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    public long misses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+
+    private static DeviceClass parse(String ua) {
+        for (String token : BOT_TOKENS) {
+            if (ua.contains(token)) {
+                return DeviceClass.BOT;
+            }
+        }
+        if (ua.contains("ipad") || ua.contains("tablet") || (ua.contains("android") && !ua.contains("mobile"))) {
+            return DeviceClass.TABLET;
+        }
+        if (ua.contains("mobi") || ua.contains("iphone") || ua.contains("android")) {
+            return DeviceClass.MOBILE;
+        }
+        if (ua.contains("windows") || ua.contains("macintosh") || ua.contains("x11") || ua.contains("cros")
+                || ua.contains("linux")) {
+            return DeviceClass.DESKTOP;
+        }
+        return DeviceClass.UNKNOWN;
+    }
+}
@@ -0,0 +1,16 @@
+-- Original url_mapping schema, as created by ddl-auto=update before tenant
+-- namespaces. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and upgraded by the later migrations.
+CREATE TABLE url_mapping (
+    id           BIGINT        NOT NULL AUTO_INCREMENT,
+    original_url TEXT          NOT NULL,
+    url_hash     VARCHAR(64),
+    short_code   VARCHAR(10),
+    click_count  BIGINT        NOT NULL,
+    created_at   DATETIME(6),
+    expires_at   DATETIME(6),
+    is_active    BIT           NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT idx_short_code UNIQUE (short_code),
+    CONSTRAINT idx_url_hash UNIQUE (url_hash)
+);
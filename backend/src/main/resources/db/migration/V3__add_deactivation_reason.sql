@@ -0,0 +1,4 @@
+-- Why a link was deactivated. Only links the expiry scheduler deactivated
+-- (EXPIRED) are reactivated when their expiry is extended; links deactivated
+-- before this column existed keep NULL and are treated as manually disabled.
+ALTER TABLE url_mapping ADD COLUMN deactivation_reason VARCHAR(16);
@@ -0,0 +1,121 @@
+package com.antigravity.urlshortener;
+
+import com.antigravity.urlshortener.repository.UrlMappingRepository;
+import com.antigravity.urlshortener.util.ShardRouter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Shortens and redirects links for the tenants of the {@code sharded} profile:
+ * acme spread over the primary and secondary shards, globex on the secondary
+ * shard only.
+ */
+@SpringBootTest(properties = "app.base-url=http://short.localhost")
+@AutoConfigureMockMvc
+@ActiveProfiles({"loadtest", "sharded"})
+class ShardedTenancyIntegrationTest {
+
+    private static final String ACME = "acme.localhost";
+    private static final String GLOBEX = "globex.localhost";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private UrlMappingRepository repository;
+
+    @Test
+    void acmeLinksAreStoredAndResolvedOnBothShards() throws Exception {
+        Map<String, String> urlByShard = new HashMap<>();
+        for (int i = 0; i < 50 && urlByShard.size() < 2; i++) {
+            String url = "https://example.com/acme/" + i;
+            String code = shorten(ACME, url);
+            String shard = shardRouter.shardForCode("acme", code).orElseThrow();
+            assertStoredOn(shard, "acme", code);
+            assertRedirects(ACME, code, url);
+            urlByShard.putIfAbsent(shard, url);
+        }
+        assertThat(urlByShard).containsOnlyKeys("primary", "secondary");
+    }
+
+    @Test
+    void globexCanShortenAUrlAcmeAlreadyShortenedOnTheSameShard() throws Exception {
+        String url = null;
+        String acmeCode = null;
+        for (int i = 0; i < 50 && acmeCode == null; i++) {
+            String candidate = "https://example.com/shared/" + i;
+            String code = shorten(ACME, candidate);
+            if (shardRouter.shardForCode("acme", code).orElseThrow().equals("secondary")) {
+                url = candidate;
+                acmeCode = code;
+            }
+        }
+        assertThat(acmeCode).isNotNull();
+
+        String globexCode = shorten(GLOBEX, url);
+        assertStoredOn("secondary", "globex", globexCode);
+        assertRedirects(GLOBEX, globexCode, url);
+        assertRedirects(ACME, acmeCode, url);
+        // Deduplication stays within the namespace
+        assertThat(shorten(GLOBEX, url)).isEqualTo(globexCode);
+        assertThat(shorten(ACME, url)).isEqualTo(acmeCode);
+    }
+
+    @Test
+    void tenantLinksUseTheTenantDomainRatherThanTheGlobalBaseUrl() throws Exception {
+        assertThat(shortenResponse(GLOBEX, "https://example.com/domain").get("shortUrl").asText())
+                .startsWith("http://" + GLOBEX + "/");
+        assertThat(shortenResponse("localhost", "https://example.com/domain").get("shortUrl").asText())
+                .startsWith("http://short.localhost/");
+    }
+
+    private String shorten(String host, String url) throws Exception {
+        return shortenResponse(host, url).get("shortCode").asText();
+    }
+
+    private JsonNode shortenResponse(String host, String url) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/shorten")
+                        .header("Host", host)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("originalUrl", url))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void assertRedirects(String host, String code, String url) throws Exception {
+        mockMvc.perform(get("/" + code).header("Host", host))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Location", url));
+    }
+
+    private void assertStoredOn(String shard, String tenantId, String code) {
+        String other = shard.equals("primary") ? "secondary" : "primary";
+        assertThat(shardRouter.onShard(shard, () -> repository.findByTenantIdAndShortCode(tenantId, code)))
+                .isPresent();
+        assertThat(shardRouter.onShard(other, () -> repository.findByTenantIdAndShortCode(tenantId, code)))
+                .isEmpty();
+    }
+}
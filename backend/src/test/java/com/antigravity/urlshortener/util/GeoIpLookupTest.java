@@ -0,0 +1,42 @@
+package com.antigravity.urlshortener.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Client addresses arrive in several text forms depending on the listener
+ * and the proxies in front of it.
+ */
+class GeoIpLookupTest {
+
+    private static final long ADDRESS = (1L << 24) | (2 << 16) | (3 << 8) | 4; // 1.2.3.4
+
+    @Test
+    void parsesDottedIpv4() {
+        assertThat(GeoIpLookup.parseIpv4("1.2.3.4")).isEqualTo(ADDRESS);
+        assertThat(GeoIpLookup.parseIpv4("1.2.3.256")).isEqualTo(-1);
+        assertThat(GeoIpLookup.parseIpv4("1.2.3")).isEqualTo(-1);
+    }
+
+    @Test
+    void extractsIpv4FromMappedIpv6() {
+        assertThat(GeoIpLookup.parseMappedIpv4("::ffff:1.2.3.4")).isEqualTo(ADDRESS);
+        assertThat(GeoIpLookup.parseMappedIpv4("::FFFF:1.2.3.4")).isEqualTo(ADDRESS);
+        assertThat(GeoIpLookup.parseMappedIpv4("0:0:0:0:0:ffff:1.2.3.4")).isEqualTo(ADDRESS);
+        assertThat(GeoIpLookup.parseMappedIpv4("0:0:0:0:0:ffff:102:304")).isEqualTo(ADDRESS);
+        assertThat(GeoIpLookup.parseMappedIpv4("::ffff:0102:0304")).isEqualTo(ADDRESS);
+        assertThat(GeoIpLookup.parseMappedIpv4("[::ffff:1.2.3.4]")).isEqualTo(ADDRESS);
+        assertThat(GeoIpLookup.parseMappedIpv4("::ffff:1.2.3.4%eth0")).isEqualTo(ADDRESS);
+    }
+
+    @Test
+    void rejectsOtherIpv6Addresses() {
+        assertThat(GeoIpLookup.parseMappedIpv4("2001:db8::1")).isEqualTo(-1);
+        assertThat(GeoIpLookup.parseMappedIpv4("::1")).isEqualTo(-1);
+        assertThat(GeoIpLookup.parseMappedIpv4("::1.2.3.4")).isEqualTo(-1);
+        assertThat(GeoIpLookup.parseMappedIpv4("64:ff9b::1.2.3.4")).isEqualTo(-1);
+        assertThat(GeoIpLookup.parseMappedIpv4("1:0:0:0:0:ffff:1.2.3.4")).isEqualTo(-1);
+        assertThat(GeoIpLookup.parseMappedIpv4("::ffff:1.2.3.4.5")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,57 @@
+package com.antigravity.urlshortener.util;
+
+import com.antigravity.urlshortener.config.ShardingProperties;
+import com.antigravity.urlshortener.config.TenancyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Code prefixes must keep resolving to the same shard when a tenant's shard
+ * list grows.
+ */
+class ShardRouterTest {
+
+    private final Base62Encoder base62Encoder = new Base62Encoder();
+
+    @Test
+    void codesOfASingleShardTenantStillResolveAfterAShardIsAppended() {
+        ShardRouter before = router("acme", List.of("primary"));
+        ShardRouter after = router("acme", List.of("primary", "secondary"));
+
+        for (int i = 0; i < 100; i++) {
+            ShardRouter.Route route = before.routeForNewLink("acme", "hash-" + i);
+            String code = route.codePrefix() + base62Encoder.encode(1000 + i) + "Ab";
+            assertThat(route.shard()).isEqualTo("primary");
+            assertThat(after.shardForCode("acme", code)).contains("primary");
+        }
+    }
+
+    @Test
+    void defaultTenantKeepsPlainCodesOnThePrimaryShard() {
+        ShardRouter router = router("acme", List.of("primary", "secondary"));
+
+        assertThat(router.routeForNewLink(TenantContext.DEFAULT_TENANT, "hash"))
+                .isEqualTo(new ShardRouter.Route("primary", ""));
+        assertThat(router.shardForCode(TenantContext.DEFAULT_TENANT, "1xYz")).contains("primary");
+    }
+
+    @Test
+    void defaultTenantCannotBeSpreadOverSeveralShards() {
+        assertThatThrownBy(() -> router(TenantContext.DEFAULT_TENANT, List.of("primary", "secondary")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private ShardRouter router(String tenantId, List<String> shards) {
+        ShardingProperties sharding = new ShardingProperties();
+        sharding.getShards().put("secondary", new ShardingProperties.Shard());
+        TenancyProperties tenancy = new TenancyProperties();
+        TenancyProperties.Tenant tenant = new TenancyProperties.Tenant();
+        tenant.setShards(shards);
+        tenancy.getTenants().put(tenantId, tenant);
+        return new ShardRouter(tenancy, sharding, base62Encoder);
+    }
+}
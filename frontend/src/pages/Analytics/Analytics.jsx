@@ -38,8 +38,9 @@ const Analytics = () => {
         const now = new Date();
         const expiry = data.expiresAt ? new Date(data.expiresAt) : null;
         
-        if (data.isActive === false) return { label: 'Inactive', color: 'bg-gray-500/10 text-gray-500 border-gray-500/20' };
+        // Expired links are also deactivated by the backend, so check expiry first
         if (expiry && expiry < now) return { label: 'Expired', color: 'bg-red-500/10 text-red-500 border-red-500/20' };
+        if (data.isActive === false) return { label: 'Inactive', color: 'bg-gray-500/10 text-gray-500 border-gray-500/20' };
         return { label: 'Active', color: 'bg-green-500/10 text-green-500 border-green-500/20' };
     };
 
@@ -0,0 +1,79 @@
+package com.antigravity.urlshortener.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the backend jar as a child process and waits until its health
+ * endpoint reports UP. Output goes to a log file next to the report so it
+ * does not interleave with the load-test summary.
+ */
+public class BackendProcess implements AutoCloseable {
+
+    private final Process process;
+
+    private BackendProcess(Process process) {
+        this.process = process;
+    }
+
+    public static BackendProcess start(LoadTestConfig config, Path logFile) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(config.jvmArgs());
+        command.add("-jar");
+        command.add(config.backendJar().toAbsolutePath().toString());
+        command.add("--spring.profiles.active=" + config.profiles());
+        command.add("--server.port=" + config.port());
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        return new BackendProcess(process);
+    }
+
+    /**
+     * Polls /actuator/health until the backend is up.
+     *
+     * @return Milliseconds spent waiting
+     */
+    public long awaitHealthy(HttpClient client, String baseUrl, Duration timeout)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with status " + process.exitValue());
+            }
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Backend did not become healthy within " + timeout);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(20, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
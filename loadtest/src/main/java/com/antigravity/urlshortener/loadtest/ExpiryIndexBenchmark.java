@@ -0,0 +1,143 @@
+package com.antigravity.urlshortener.loadtest;
+
+import com.antigravity.urlshortener.util.ExpiryIndex;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark for the backend's {@link ExpiryIndex} with millions of
+ * pending expirations.
+ *
+ * Scope: the in-memory data structure only. No database updates, refill
+ * queries or events are involved; {@link ExpirySchedulerBenchmark} measures
+ * the scheduler end to end.
+ *
+ * Schedules {@code --pending} keys spread over {@code --spread-days}, extends
+ * a share of them, cancels a few, then drains the index by advancing a
+ * simulated clock one scheduler interval at a time. Reports schedule,
+ * reschedule and expiry throughput plus per-tick drain latency as JSON.
+ *
+ * Usage: java -Xmx4g -cp urlshortener-loadtest.jar
+ * com.antigravity.urlshortener.loadtest.ExpiryIndexBenchmark [--pending n]
+ * [--spread-days d] [--tick-millis t] [--step-millis s] [--batch b] [--output file]
+ */
+public class ExpiryIndexBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int pending = 2_000_000;
+        int spreadDays = 30;
+        long tickMillis = 1000;
+        long stepMillis = 60_000;
+        int batch = 500;
+        Path output = Path.of("expiry-benchmark.json");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--pending" -> pending = Integer.parseInt(args[i + 1]);
+                case "--spread-days" -> spreadDays = Integer.parseInt(args[i + 1]);
+                case "--tick-millis" -> tickMillis = Long.parseLong(args[i + 1]);
+                case "--step-millis" -> stepMillis = Long.parseLong(args[i + 1]);
+                case "--batch" -> batch = Integer.parseInt(args[i + 1]);
+                case "--output" -> output = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        // Warm-up round so the measured round runs JIT-compiled code
+        run(Math.max(pending / 10, 10_000), spreadDays, tickMillis, stepMillis, batch);
+        System.gc();
+
+        Map<String, Object> result = run(pending, spreadDays, tickMillis, stepMillis, batch);
+        Files.writeString(output, Json.write(result));
+        System.out.print(Json.write(result));
+    }
+
+    private static Map<String, Object> run(int pending, int spreadDays, long tickMillis, long stepMillis,
+                                           int batch) {
+        long spreadMillis = TimeUnit.DAYS.toMillis(spreadDays);
+        SplittableRandom random = new SplittableRandom(42);
+        String[] keys = new String[pending];
+        long[] deadlines = new long[pending];
+        for (int i = 0; i < pending; i++) {
+            keys[i] = Integer.toString(i, 36);
+            deadlines[i] = 1 + random.nextLong(spreadMillis);
+        }
+
+        ExpiryIndex<String> index = new ExpiryIndex<>(tickMillis);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < pending; i++) {
+            index.schedule(keys[i], deadlines[i]);
+        }
+        long scheduleNanos = System.nanoTime() - start;
+        long heapBytes = usedHeap();
+
+        int extended = pending / 10;
+        start = System.nanoTime();
+        for (int i = 0; i < extended; i++) {
+            int k = random.nextInt(pending);
+            deadlines[k] = Math.min(spreadMillis, deadlines[k] + TimeUnit.DAYS.toMillis(1));
+            index.schedule(keys[k], deadlines[k]);
+        }
+        long rescheduleNanos = System.nanoTime() - start;
+
+        int cancelled = 0;
+        for (int i = 0; i < pending / 100; i++) {
+            if (index.cancel(keys[random.nextInt(pending)])) {
+                cancelled++;
+            }
+        }
+        int expected = index.size();
+
+        int steps = (int) (spreadMillis / stepMillis) + 2;
+        long[] stepNanos = new long[steps];
+        long expired = 0;
+        start = System.nanoTime();
+        for (int s = 0; s < steps; s++) {
+            long now = s * stepMillis;
+            long stepStart = System.nanoTime();
+            List<String> due;
+            while (!(due = index.pollExpired(now, batch)).isEmpty()) {
+                expired += due.size();
+            }
+            stepNanos[s] = System.nanoTime() - stepStart;
+        }
+        long drainNanos = System.nanoTime() - start;
+        if (expired != expected || index.size() != 0) {
+            throw new IllegalStateException("Drained " + expired + " of " + expected + " expirations");
+        }
+        Arrays.sort(stepNanos);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pending", pending);
+        result.put("spreadDays", spreadDays);
+        result.put("tickMillis", tickMillis);
+        result.put("stepMillis", stepMillis);
+        result.put("batch", batch);
+        result.put("scheduleOpsPerSecond", pending / seconds(scheduleNanos));
+        result.put("rescheduleOpsPerSecond", extended / seconds(rescheduleNanos));
+        result.put("cancelled", cancelled);
+        result.put("expired", expired);
+        result.put("expirationsPerSecond", expired / seconds(drainNanos));
+        result.put("drainStepMicrosP50", stepNanos[steps / 2] / 1000.0);
+        result.put("drainStepMicrosP99", stepNanos[(int) (steps * 0.99)] / 1000.0);
+        result.put("drainStepMicrosMax", stepNanos[steps - 1] / 1000.0);
+        result.put("heapMegabytesAfterSchedule", heapBytes / (1024.0 * 1024.0));
+        return result;
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,180 @@
+package com.antigravity.urlshortener.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmark of the backend's expiry processing: the real
+ * ExpiryScheduler refill and tick against an embedded database, as opposed to
+ * {@link ExpiryIndexBenchmark}, which measures the in-memory index alone.
+ *
+ * Creates a file-based H2 database (schema applied by the backend's Flyway
+ * migrations with the scheduler disabled), seeds {@code --overdue} active
+ * links whose expiry has already passed, then starts the backend with the
+ * scheduler enabled and polls ushort_expiry_deactivated_total until every
+ * link is deactivated. Reports the drain time and deactivations per second
+ * as JSON, after checking the rows in the database.
+ *
+ * Usage: java -cp urlshortener-loadtest.jar
+ * com.antigravity.urlshortener.loadtest.ExpirySchedulerBenchmark --backend-jar path
+ * [--overdue n] [--batch-size b] [--port p] [--timeout-seconds s] [--output file]
+ */
+public class ExpirySchedulerBenchmark {
+
+    private static final String DEACTIVATED = "ushort_expiry_deactivated_total";
+
+    public static void main(String[] args) throws Exception {
+        Path backendJar = null;
+        int overdue = 100_000;
+        int batchSize = 500;
+        int port = 18090;
+        int timeoutSeconds = 600;
+        Path output = Path.of("expiry-scheduler-benchmark.json");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--backend-jar" -> backendJar = Path.of(args[i + 1]);
+                case "--overdue" -> overdue = Integer.parseInt(args[i + 1]);
+                case "--batch-size" -> batchSize = Integer.parseInt(args[i + 1]);
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--timeout-seconds" -> timeoutSeconds = Integer.parseInt(args[i + 1]);
+                case "--output" -> output = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (backendJar == null) {
+            System.err.println("ExpirySchedulerBenchmark requires --backend-jar");
+            System.exit(1);
+            return;
+        }
+
+        Path dir = Files.createTempDirectory("ushort-expiry-benchmark");
+        String jdbcUrl = "jdbc:h2:file:" + dir.resolve("db").toAbsolutePath()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        LoadTestRunner.log("Applying migrations to %s", jdbcUrl);
+        try (BackendProcess backend = start(backendJar, port, jdbcUrl, false, batchSize, overdue,
+                dir.resolve("migrate.log"))) {
+            backend.awaitHealthy(client, "http://localhost:" + port, Duration.ofMinutes(3));
+        }
+
+        LoadTestRunner.log("Seeding %d overdue links", overdue);
+        long seedStart = System.nanoTime();
+        seed(jdbcUrl, overdue);
+        long seedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart);
+
+        Path log = dir.resolve("backend.log");
+        LoadTestRunner.log("Starting backend with the expiry scheduler (log=%s)", log);
+        long startupMillis;
+        long drainMillis;
+        long firstDeactivationMillis = -1;
+        long deactivated = 0;
+        try (BackendProcess backend = start(backendJar, port, jdbcUrl, true, batchSize, overdue, log)) {
+            String baseUrl = "http://localhost:" + port;
+            startupMillis = backend.awaitHealthy(client, baseUrl, Duration.ofMinutes(3));
+            MetricsClient metrics = new MetricsClient(client, baseUrl);
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            while (deactivated < overdue && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+                deactivated = Math.max(deactivated, metrics.count(DEACTIVATED));
+                if (deactivated > 0 && firstDeactivationMillis < 0) {
+                    firstDeactivationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            }
+            drainMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+        if (deactivated < overdue) {
+            throw new IllegalStateException("Only " + deactivated + " of " + overdue
+                    + " links deactivated within " + timeoutSeconds + " s");
+        }
+        long expiredRows = countExpired(jdbcUrl);
+        if (expiredRows != overdue) {
+            throw new IllegalStateException("Expected " + overdue + " expired rows but found " + expiredRows);
+        }
+
+        // The first tick runs tickMillis after startup; measure the rate from the first deactivation
+        long activeMillis = Math.max(1, drainMillis - firstDeactivationMillis);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("overdue", overdue);
+        result.put("batchSize", batchSize);
+        result.put("seedMillis", seedMillis);
+        result.put("backendStartupMillis", startupMillis);
+        result.put("firstDeactivationMillis", firstDeactivationMillis);
+        result.put("drainMillis", drainMillis);
+        result.put("deactivationsPerSecond", overdue / (activeMillis / 1000.0));
+        Files.writeString(output, Json.write(result));
+        System.out.print(Json.write(result));
+    }
+
+    private static BackendProcess start(Path backendJar, int port, String jdbcUrl, boolean scheduler,
+                                        int batchSize, int overdue, Path log) throws Exception {
+        List<String> args = new ArrayList<>(List.of(
+                "--backend-jar", backendJar.toString(),
+                "--port", Integer.toString(port),
+                "--jvm-arg", "-Dspring.datasource.url=" + jdbcUrl,
+                "--jvm-arg", "-Dapp.expiry.scheduler-enabled=" + scheduler,
+                "--jvm-arg", "-Dapp.expiry.batch-size=" + batchSize,
+                "--jvm-arg", "-Dapp.expiry.max-pending=" + Math.max(overdue, 1_000_000),
+                "--jvm-arg", "-Dspring.jpa.show-sql=false"));
+        return BackendProcess.start(LoadTestConfig.parse(args.toArray(new String[0])), log);
+    }
+
+    private static void seed(String jdbcUrl, int overdue) throws SQLException {
+        Timestamp created = Timestamp.valueOf(LocalDateTime.now().minusDays(2));
+        Timestamp expired = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+             PreparedStatement insert = connection.prepareStatement("""
+                     INSERT INTO url_mapping (tenant_id, original_url, url_hash, short_code, click_count,
+                                              created_at, expires_at, is_active)
+                     VALUES ('default', ?, ?, ?, 0, ?, ?, TRUE)
+                     """)) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < overdue; i++) {
+                String key = Integer.toString(i, 36);
+                insert.setString(1, "https://expired.example.com/" + key);
+                insert.setString(2, "expiry-benchmark-" + key);
+                insert.setString(3, "x" + key);
+                insert.setTimestamp(4, created);
+                insert.setTimestamp(5, expired);
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static long countExpired(String jdbcUrl) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                     SELECT COUNT(*) FROM url_mapping
+                     WHERE is_active = FALSE AND deactivation_reason = 'EXPIRED'
+                     """)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.antigravity.urlshortener.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Single-writer latency and outcome recorder for one operation.
+ * Each worker thread owns its own recorders; they are merged once the run
+ * finishes, so the hot loop never contends on shared state.
+ */
+public class LatencyRecorder {
+
+    private long[] latenciesNanos = new long[1024];
+    private int size;
+    private long errors;
+
+    public void record(long latencyNanos, boolean success) {
+        if (size == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, size * 2);
+        }
+        latenciesNanos[size++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public void merge(LatencyRecorder other) {
+        if (size + other.size > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    public long count() {
+        return size;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * Sorts the recorded samples and returns a snapshot of the latency
+     * distribution in milliseconds.
+     */
+    public LatencySnapshot snapshot() {
+        long[] sorted = Arrays.copyOf(latenciesNanos, size);
+        Arrays.sort(sorted);
+        return new LatencySnapshot(sorted);
+    }
+
+    public record LatencySnapshot(long[] sortedNanos) {
+
+        public double meanMillis() {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (long v : sortedNanos) {
+                sum += v;
+            }
+            return sum / sortedNanos.length / 1_000_000.0;
+        }
+
+        public double percentileMillis(double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int idx = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+            idx = Math.max(0, Math.min(idx, sortedNanos.length - 1));
+            return sortedNanos[idx] / 1_000_000.0;
+        }
+
+        public double maxMillis() {
+            return sortedNanos.length == 0 ? 0 : sortedNanos[sortedNanos.length - 1] / 1_000_000.0;
+        }
+    }
+}
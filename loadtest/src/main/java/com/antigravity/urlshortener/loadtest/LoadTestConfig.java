@@ -0,0 +1,152 @@
+package com.antigravity.urlshortener.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command-line options for a load-test run.
+ *
+ * @param baseUrl             Backend to target (ignored when a jar is launched)
+ * @param backendJar          Optional backend jar to start locally for the run
+ * @param profiles            Spring profiles used when launching the backend
+ * @param port                Port used when launching the backend
+ * @param jvmArgs             Extra JVM arguments for the launched backend
+ * @param durationSeconds     Length of the measured phase
+ * @param warmupSeconds       Length of the unmeasured warm-up phase
+ * @param concurrency         Number of workers (maximum requests in flight)
+ * @param rate                Open-loop target in requests per second across all
+ *                            workers, or 0 for closed loop
+ * @param seedLinks           Number of links created before the run (Zipf population)
+ * @param zipfExponent        Skew of redirect/analytics popularity
+ * @param mix                 Weighted operation mix
+ * @param calibrationRequests Requests per operation used to measure DB statements
+ * @param seed                Random seed, so runs replay the same traffic
+ * @param hosts               Host headers (tenant domains) to spread traffic over
+ * @param output              File the JSON report is written to
+ * @param baseline            Optional previous report to compare against
+ * @param maxRegressionPct    Allowed throughput / p99 regression before failing
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        Path backendJar,
+        String profiles,
+        int port,
+        List<String> jvmArgs,
+        int durationSeconds,
+        int warmupSeconds,
+        int concurrency,
+        double rate,
+        int seedLinks,
+        double zipfExponent,
+        TrafficMix mix,
+        int calibrationRequests,
+        long seed,
+        List<String> hosts,
+        Path output,
+        Path baseline,
+        double maxRegressionPct) {
+
+    public static final String USAGE = """
+            Usage: java -jar urlshortener-loadtest.jar [options]
+              --base-url <url>            Target an already running backend (default http://localhost:8080)
+              --backend-jar <path>        Start this backend jar locally for the run
+              --profiles <list>           Spring profiles for the launched backend (default loadtest)
+              --port <n>                  Port for the launched backend (default 18080)
+              --jvm-arg <arg>             Extra JVM argument for the launched backend (repeatable)
+              --duration <s>              Measured phase length in seconds (default 60)
+              --warmup <s>                Warm-up length in seconds (default 15)
+              --concurrency <n>           Workers, i.e. max requests in flight (default 32)
+              --rate <n>                  Open loop: send n requests/s on a fixed schedule and time each
+                                          one from its scheduled send (default 0 = closed loop)
+              --seed-links <n>            Links created before the run (default 10000)
+              --zipf <s>                  Zipf exponent for code popularity (default 1.1)
+              --mix <spec>                Operation weights (default redirect=80,analytics=8,shorten=7,notfound=5)
+              --calibration <n>           Requests per operation for DB statement counts (default 200)
+              --seed <n>                  Random seed (default 42)
+              --hosts <list>              Comma-separated Host headers (tenant domains) to spread traffic over
+              --output <file>             JSON report path (default loadtest-report.json)
+              --baseline <file>           Previous report; exit with status 2 on regression
+              --max-regression <pct>      Allowed regression against the baseline (default 10)
+            """;
+
+    /**
+     * Copy of this configuration targeting a different set of backend profiles
+     * and report file; used to run the same traffic against several profiles.
+     */
+    public LoadTestConfig withProfiles(String profiles, Path output) {
+        return new LoadTestConfig(baseUrl, backendJar, profiles, port, jvmArgs, durationSeconds, warmupSeconds,
+                concurrency, rate, seedLinks, zipfExponent, mix, calibrationRequests, seed, hosts, output, null,
+                maxRegressionPct);
+    }
+
+    public static LoadTestConfig parse(String[] args) {
+        String baseUrl = "http://localhost:8080";
+        Path backendJar = null;
+        String profiles = "loadtest";
+        int port = 18080;
+        List<String> jvmArgs = new ArrayList<>();
+        int duration = 60;
+        int warmup = 15;
+        int concurrency = 32;
+        double rate = 0;
+        int seedLinks = 10_000;
+        double zipf = 1.1;
+        String mix = "redirect=80,analytics=8,shorten=7,notfound=5";
+        int calibration = 200;
+        long seed = 42;
+        List<String> hosts = List.of();
+        Path output = Path.of("loadtest-report.json");
+        Path baseline = null;
+        double maxRegression = 10;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--help") || arg.equals("-h")) {
+                throw new IllegalArgumentException(USAGE);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg + "\n" + USAGE);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--base-url" -> baseUrl = value;
+                case "--backend-jar" -> backendJar = Path.of(value);
+                case "--profiles" -> profiles = value;
+                case "--port" -> port = Integer.parseInt(value);
+                case "--jvm-arg" -> jvmArgs.add(value);
+                case "--duration" -> duration = Integer.parseInt(value);
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                case "--rate" -> rate = Double.parseDouble(value);
+                case "--seed-links" -> seedLinks = Integer.parseInt(value);
+                case "--zipf" -> zipf = Double.parseDouble(value);
+                case "--mix" -> mix = value;
+                case "--calibration" -> calibration = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--hosts" -> hosts = List.of(value.split(","));
+                case "--output" -> output = Path.of(value);
+                case "--baseline" -> baseline = Path.of(value);
+                case "--max-regression" -> maxRegression = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unknown option " + arg + "\n" + USAGE);
+            }
+        }
+
+        if (backendJar != null) {
+            baseUrl = "http://localhost:" + port;
+        }
+        if (baseUrl.endsWith("/")) {
+            baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+        }
+        if (duration <= 0 || concurrency <= 0 || seedLinks <= 0) {
+            throw new IllegalArgumentException("duration, concurrency and seed-links must be positive");
+        }
+        if (rate < 0) {
+            throw new IllegalArgumentException("rate must not be negative");
+        }
+
+        return new LoadTestConfig(baseUrl, backendJar, profiles, port, List.copyOf(jvmArgs), duration, warmup,
+                concurrency, rate, seedLinks, zipf, TrafficMix.parse(mix), calibration, seed, hosts, output, baseline,
+                maxRegression);
+    }
+}
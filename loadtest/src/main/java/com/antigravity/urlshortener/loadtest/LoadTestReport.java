@@ -0,0 +1,146 @@
+package com.antigravity.urlshortener.loadtest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the machine-readable report for a run and compares it against a
+ * previous report to flag regressions between builds.
+ */
+public final class LoadTestReport {
+
+    private LoadTestReport() {
+    }
+
+    public static Map<String, Object> build(LoadTestConfig config,
+                                            Map<Operation, LatencyRecorder> results,
+                                            Map<Operation, Double> statementsPerRequest,
+                                            long totalStatements,
+                                            Map<String, Object> extra) {
+        double seconds = config.durationSeconds();
+        long requests = 0;
+        long errors = 0;
+        LatencyRecorder all = new LatencyRecorder();
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, LatencyRecorder> e : results.entrySet()) {
+            LatencyRecorder recorder = e.getValue();
+            if (recorder.count() == 0) {
+                continue;
+            }
+            requests += recorder.count();
+            errors += recorder.errors();
+            all.merge(recorder);
+
+            Map<String, Object> op = stats(recorder, seconds);
+            op.put("dbStatementsPerRequest", statementsPerRequest.get(e.getKey()));
+            operations.put(e.getKey().key(), op);
+        }
+
+        Map<String, Object> summary = stats(all, seconds);
+        summary.put("dbStatements", totalStatements < 0 ? null : totalStatements);
+        summary.put("dbStatementsPerRequest",
+                totalStatements < 0 || requests == 0 ? null : (double) totalStatements / requests);
+
+        Map<String, Object> cfg = new LinkedHashMap<>();
+        cfg.put("baseUrl", config.baseUrl());
+        cfg.put("profiles", config.backendJar() == null ? null : config.profiles());
+        cfg.put("durationSeconds", config.durationSeconds());
+        cfg.put("warmupSeconds", config.warmupSeconds());
+        cfg.put("concurrency", config.concurrency());
+        cfg.put("rate", config.rate() > 0 ? config.rate() : null);
+        cfg.put("seedLinks", config.seedLinks());
+        cfg.put("zipfExponent", config.zipfExponent());
+        cfg.put("mix", config.mix().toString());
+        cfg.put("seed", config.seed());
+        cfg.put("hosts", config.hosts());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("config", cfg);
+        report.putAll(extra);
+        report.put("summary", summary);
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static Map<String, Object> stats(LatencyRecorder recorder, double seconds) {
+        LatencyRecorder.LatencySnapshot snapshot = recorder.snapshot();
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", snapshot.meanMillis());
+        latency.put("p50", snapshot.percentileMillis(50));
+        latency.put("p90", snapshot.percentileMillis(90));
+        latency.put("p99", snapshot.percentileMillis(99));
+        latency.put("p999", snapshot.percentileMillis(99.9));
+        latency.put("max", snapshot.maxMillis());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", recorder.count());
+        stats.put("errors", recorder.errors());
+        stats.put("errorRate", recorder.count() == 0 ? 0.0 : (double) recorder.errors() / recorder.count());
+        stats.put("throughputPerSecond", recorder.count() / seconds);
+        stats.put("latencyMillis", latency);
+        return stats;
+    }
+
+    /**
+     * Compares throughput, p99 latency and error rate of the current report
+     * against a baseline.
+     *
+     * @return Human-readable regressions; empty if within tolerance
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> regressions(Map<String, Object> current, Map<String, Object> baseline,
+                                           double maxRegressionPct) {
+        List<String> regressions = new ArrayList<>();
+        compare("summary", (Map<String, Object>) current.get("summary"),
+                (Map<String, Object>) baseline.get("summary"), maxRegressionPct, regressions);
+
+        Map<String, Object> currentOps = (Map<String, Object>) current.get("operations");
+        Map<String, Object> baselineOps = (Map<String, Object>) baseline.get("operations");
+        if (currentOps != null && baselineOps != null) {
+            for (String op : currentOps.keySet()) {
+                if (baselineOps.containsKey(op)) {
+                    compare(op, (Map<String, Object>) currentOps.get(op),
+                            (Map<String, Object>) baselineOps.get(op), maxRegressionPct, regressions);
+                }
+            }
+        }
+        return regressions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void compare(String name, Map<String, Object> current, Map<String, Object> baseline,
+                                double maxRegressionPct, List<String> regressions) {
+        if (current == null || baseline == null) {
+            return;
+        }
+        double tolerance = maxRegressionPct / 100.0;
+
+        double throughput = number(current.get("throughputPerSecond"));
+        double baseThroughput = number(baseline.get("throughputPerSecond"));
+        if (baseThroughput > 0 && throughput < baseThroughput * (1 - tolerance)) {
+            regressions.add(String.format("%s throughput %.1f/s < baseline %.1f/s", name, throughput,
+                    baseThroughput));
+        }
+
+        double p99 = number(((Map<String, Object>) current.get("latencyMillis")).get("p99"));
+        double baseP99 = number(((Map<String, Object>) baseline.get("latencyMillis")).get("p99"));
+        if (baseP99 > 0 && p99 > baseP99 * (1 + tolerance)) {
+            regressions.add(String.format("%s p99 %.2fms > baseline %.2fms", name, p99, baseP99));
+        }
+
+        double errorRate = number(current.get("errorRate"));
+        double baseErrorRate = number(baseline.get("errorRate"));
+        if (errorRate > baseErrorRate + 0.001) {
+            regressions.add(String.format("%s error rate %.4f > baseline %.4f", name, errorRate, baseErrorRate));
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number n ? n.doubleValue() : 0;
+    }
+}
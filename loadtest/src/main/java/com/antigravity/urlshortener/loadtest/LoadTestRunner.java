@@ -0,0 +1,174 @@
+package com.antigravity.urlshortener.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Entry point for the load generator.
+ * Runs the phases of a load test in order:
+ * 1. Optionally start the backend jar with an embedded DB profile.
+ * 2. Seed a population of links for redirect/analytics traffic.
+ * 3. Calibrate DB statements per request for each operation.
+ * 4. Warm up, then measure the configured traffic mix.
+ * 5. Write a JSON report and optionally compare it against a baseline.
+ */
+public class LoadTestRunner {
+
+    static {
+        // Allows --hosts to target tenant domains on a local backend
+        System.setProperty("jdk.httpclient.allowRestrictedHeaders", "host");
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        System.exit(run(config));
+    }
+
+    static int run(LoadTestConfig config) throws InterruptedException, IOException {
+        return compareWithBaseline(config, execute(config));
+    }
+
+    /**
+     * Runs one complete load test and writes its report.
+     *
+     * @return The report that was written to {@code config.output()}
+     */
+    static Map<String, Object> execute(LoadTestConfig config) throws InterruptedException, IOException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+
+        BackendProcess backend = null;
+        Map<String, Object> extra = new LinkedHashMap<>();
+        try {
+            if (config.backendJar() != null) {
+                Path log = backendLogFor(config.output());
+                log("Starting backend %s (profiles=%s, log=%s)", config.backendJar(), config.profiles(), log);
+                backend = BackendProcess.start(config, log);
+                long startupMillis = backend.awaitHealthy(client, config.baseUrl(), Duration.ofMinutes(3));
+                extra.put("backendStartupMillis", startupMillis);
+                log("Backend healthy after %d ms", startupMillis);
+            }
+
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+            TrafficGenerator generator = new TrafficGenerator(client, config.baseUrl(), runId, config.hosts());
+            MetricsClient metrics = new MetricsClient(client, config.baseUrl());
+
+            log("Seeding %d links", config.seedLinks());
+            int seedFailures = generator.seed(config.seedLinks(), config.concurrency(), config.zipfExponent());
+            extra.put("seedFailures", seedFailures);
+
+            Map<Operation, Double> statementsPerRequest = calibrate(config, generator, metrics);
+
+            if (config.warmupSeconds() > 0) {
+                log("Warming up for %d s", config.warmupSeconds());
+                generator.run(config.mix(), Duration.ofSeconds(config.warmupSeconds()), config.concurrency(),
+                        config.rate(), config.seed() ^ 0x5DEECE66DL);
+            }
+
+            log("Measuring %s for %d s with %d workers%s", config.mix(), config.durationSeconds(),
+                    config.concurrency(), config.rate() > 0 ? " at " + config.rate() + " requests/s (open loop)" : "");
+            long statementsBefore = metrics.preparedStatements();
+            Map<Operation, LatencyRecorder> results = generator.run(config.mix(),
+                    Duration.ofSeconds(config.durationSeconds()), config.concurrency(), config.rate(), config.seed());
+            long statementsAfter = metrics.preparedStatements();
+            long totalStatements = statementsBefore < 0 || statementsAfter < 0
+                    ? -1
+                    : statementsAfter - statementsBefore;
+
+            Map<String, Object> report = LoadTestReport.build(config, results, statementsPerRequest,
+                    totalStatements, extra);
+            Files.writeString(config.output(), Json.write(report));
+            printSummary(report);
+            log("Report written to %s", config.output().toAbsolutePath());
+            return report;
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+    }
+
+    /**
+     * Measures DB statements per request for each operation in the mix by
+     * issuing a burst of that operation alone and diffing Hibernate's counter.
+     */
+    private static Map<Operation, Double> calibrate(LoadTestConfig config, TrafficGenerator generator,
+                                                    MetricsClient metrics) {
+        Map<Operation, Double> perRequest = new EnumMap<>(Operation.class);
+        if (config.calibrationRequests() <= 0 || metrics.preparedStatements() < 0) {
+            log("Skipping DB statement calibration (hibernate.statements meter unavailable)");
+            return perRequest;
+        }
+        for (Operation op : config.mix().weights().keySet()) {
+            long before = metrics.preparedStatements();
+            generator.runSequential(op, config.calibrationRequests(), config.seed() + op.ordinal());
+            long after = metrics.preparedStatements();
+            perRequest.put(op, (double) (after - before) / config.calibrationRequests());
+        }
+        return perRequest;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareWithBaseline(LoadTestConfig config, Map<String, Object> report) throws IOException {
+        if (config.baseline() == null) {
+            return 0;
+        }
+        Map<String, Object> baseline = (Map<String, Object>) Json.parse(Files.readString(config.baseline()));
+        List<String> regressions = LoadTestReport.regressions(report, baseline, config.maxRegressionPct());
+        if (regressions.isEmpty()) {
+            log("No regressions against %s (tolerance %.1f%%)", config.baseline(), config.maxRegressionPct());
+            return 0;
+        }
+        log("Regressions against %s:", config.baseline());
+        regressions.forEach(r -> log("  %s", r));
+        return 2;
+    }
+
+    @SuppressWarnings("unchecked")
+    static void printSummary(Map<String, Object> report) {
+        Map<String, Object> operations = (Map<String, Object>) report.get("operations");
+        Map<String, Object> rows = new LinkedHashMap<>(operations);
+        rows.put("total", report.get("summary"));
+        System.out.printf("%-10s %10s %8s %10s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "db/req");
+        rows.forEach((name, value) -> {
+            Map<String, Object> stats = (Map<String, Object>) value;
+            Map<String, Object> latency = (Map<String, Object>) stats.get("latencyMillis");
+            Object db = stats.get("dbStatementsPerRequest");
+            System.out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9s%n",
+                    name, stats.get("requests"), stats.get("errors"), stats.get("throughputPerSecond"),
+                    latency.get("p50"), latency.get("p99"), latency.get("p999"),
+                    db == null ? "n/a" : String.format("%.2f", (Double) db));
+        });
+    }
+
+    private static Path backendLogFor(Path output) {
+        String name = output.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        return output.toAbsolutePath().resolveSibling(stem + "-backend.log");
+    }
+
+    static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+}
@@ -0,0 +1,71 @@
+package com.antigravity.urlshortener.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads counters from the backend's actuator metrics endpoint.
+ * DB query counts come from Hibernate's {@code hibernate.statements} meter,
+ * which the loadtest profile enables via {@code generate_statistics}.
+ */
+public class MetricsClient {
+
+    private static final String PREPARED_STATEMENTS = "/actuator/metrics/hibernate.statements?tag=status:prepared";
+
+    private final HttpClient client;
+    private final String baseUrl;
+
+    public MetricsClient(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * @return Total JDBC statements prepared so far, or -1 if the meter is not
+     *         available (e.g. statistics disabled in the active profile)
+     */
+    public long preparedStatements() {
+        return readCount(PREPARED_STATEMENTS);
+    }
+
+    /**
+     * @return The COUNT of a backend meter (e.g. a counter), or -1 if it is not
+     *         available
+     */
+    public long count(String meter) {
+        return readCount("/actuator/metrics/" + meter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long readCount(String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return -1;
+            }
+            Map<String, Object> body = (Map<String, Object>) Json.parse(response.body());
+            List<Object> measurements = (List<Object>) body.get("measurements");
+            for (Object m : measurements) {
+                Map<String, Object> measurement = (Map<String, Object>) m;
+                if ("COUNT".equals(measurement.get("statistic"))) {
+                    return ((Double) measurement.get("value")).longValue();
+                }
+            }
+            return -1;
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+}
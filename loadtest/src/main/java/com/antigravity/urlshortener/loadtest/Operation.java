@@ -0,0 +1,41 @@
+package com.antigravity.urlshortener.loadtest;
+
+/**
+ * The request types replayed by the load generator.
+ * Each operation knows which HTTP status codes count as a successful outcome.
+ */
+public enum Operation {
+    /** POST /api/v1/shorten with a previously unseen URL */
+    SHORTEN("shorten", 200),
+    /** GET /{shortCode} for a Zipf-distributed existing code */
+    REDIRECT("redirect", 302),
+    /** GET /api/v1/analytics/{shortCode} for a Zipf-distributed existing code */
+    ANALYTICS("analytics", 200),
+    /** GET /{shortCode} for a code that does not exist (bot / typo traffic) */
+    NOT_FOUND("notfound", 404);
+
+    private final String key;
+    private final int expectedStatus;
+
+    Operation(String key, int expectedStatus) {
+        this.key = key;
+        this.expectedStatus = expectedStatus;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public boolean isExpected(int status) {
+        return status == expectedStatus;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation op : values()) {
+            if (op.key.equalsIgnoreCase(key)) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,115 @@
+package com.antigravity.urlshortener.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the same traffic against the backend under two profile sets and
+ * reports the delta, e.g. the dev settings ("loadtest") versus the
+ * production tuning profile ("perf,loadtest").
+ *
+ * Accepts every LoadTestRunner option plus {@code --candidate <profiles>};
+ * {@code --profiles} selects the reference run. {@code --backend-jar} is
+ * required because each run needs a freshly started backend.
+ */
+public class ProfileBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String candidate = "perf,loadtest";
+        List<String> runnerArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--candidate") && i + 1 < args.length) {
+                candidate = args[++i];
+            } else {
+                runnerArgs.add(args[i]);
+            }
+        }
+
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(runnerArgs.toArray(new String[0]));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("  --candidate <list>          Profiles compared against --profiles (default perf,loadtest)");
+            System.exit(1);
+            return;
+        }
+        if (config.backendJar() == null) {
+            System.err.println("ProfileBenchmark requires --backend-jar");
+            System.exit(1);
+            return;
+        }
+
+        Path output = config.output();
+        Map<String, Object> reference = LoadTestRunner.execute(
+                config.withProfiles(config.profiles(), sibling(output, "reference")));
+        Map<String, Object> tuned = LoadTestRunner.execute(
+                config.withProfiles(candidate, sibling(output, "candidate")));
+
+        Map<String, Object> delta = delta(config.profiles(), candidate, reference, tuned);
+        Files.writeString(output, Json.write(delta));
+        LoadTestRunner.log("Profile delta written to %s", output.toAbsolutePath());
+        System.out.print(Json.write(delta.get("summary")));
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> delta(String referenceProfiles, String candidateProfiles,
+                                     Map<String, Object> reference, Map<String, Object> candidate) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("referenceProfiles", referenceProfiles);
+        result.put("candidateProfiles", candidateProfiles);
+        result.put("summary", compare((Map<String, Object>) reference.get("summary"),
+                (Map<String, Object>) candidate.get("summary")));
+
+        Map<String, Object> referenceOps = (Map<String, Object>) reference.get("operations");
+        Map<String, Object> candidateOps = (Map<String, Object>) candidate.get("operations");
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (String op : referenceOps.keySet()) {
+            if (candidateOps.containsKey(op)) {
+                operations.put(op, compare((Map<String, Object>) referenceOps.get(op),
+                        (Map<String, Object>) candidateOps.get(op)));
+            }
+        }
+        result.put("operations", operations);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> compare(Map<String, Object> reference, Map<String, Object> candidate) {
+        Map<String, Object> referenceLatency = (Map<String, Object>) reference.get("latencyMillis");
+        Map<String, Object> candidateLatency = (Map<String, Object>) candidate.get("latencyMillis");
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("throughputPerSecond", metric(reference.get("throughputPerSecond"),
+                candidate.get("throughputPerSecond")));
+        out.put("p50Millis", metric(referenceLatency.get("p50"), candidateLatency.get("p50")));
+        out.put("p99Millis", metric(referenceLatency.get("p99"), candidateLatency.get("p99")));
+        out.put("errorRate", metric(reference.get("errorRate"), candidate.get("errorRate")));
+        out.put("dbStatementsPerRequest", metric(reference.get("dbStatementsPerRequest"),
+                candidate.get("dbStatementsPerRequest")));
+        return out;
+    }
+
+    private static Map<String, Object> metric(Object reference, Object candidate) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("reference", reference);
+        m.put("candidate", candidate);
+        if (reference instanceof Number r && candidate instanceof Number c && r.doubleValue() != 0) {
+            m.put("deltaPct", (c.doubleValue() - r.doubleValue()) / r.doubleValue() * 100.0);
+        } else {
+            m.put("deltaPct", null);
+        }
+        return m;
+    }
+
+    private static Path sibling(Path output, String suffix) {
+        String name = output.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        return output.toAbsolutePath().resolveSibling(stem + "-" + suffix + ".json");
+    }
+}
@@ -0,0 +1,219 @@
+package com.antigravity.urlshortener.loadtest;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.antigravity.urlshortener.config.DropCountingAsyncAppender;
+import com.antigravity.urlshortener.config.JsonLogEncoder;
+import com.antigravity.urlshortener.dto.ErrorResponse;
+import com.antigravity.urlshortener.exception.UrlNotFoundException;
+import com.antigravity.urlshortener.util.CorrelationIdGenerator;
+import com.antigravity.urlshortener.util.LogSampler;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Microbenchmark for the per-request cost of correlation IDs and not-found
+ * handling, as paid by the request thread.
+ *
+ * Compares the previous path (UUID correlation ID, stack-traced exception,
+ * HashMap error body, synchronous pattern logging) against the current one
+ * (node-prefixed sequence ID, stackless exception, ErrorResponse, sampled
+ * logging through the async JSON appender). Log output goes to a null stream,
+ * so the "before" numbers exclude console I/O and understate its cost.
+ * Reports ns/op and bytes allocated per op for each stage as JSON.
+ *
+ * Usage: java -cp urlshortener-loadtest.jar
+ * com.antigravity.urlshortener.loadtest.RequestOverheadBenchmark [--threads n]
+ * [--seconds s] [--warmup-seconds w] [--sample-per-second r] [--output file]
+ */
+public class RequestOverheadBenchmark {
+
+    private static final String BOOT_CONSOLE_PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int seconds = 5;
+        int warmupSeconds = 2;
+        int samplePerSecond = 10;
+        Path output = Path.of("request-overhead-benchmark.json");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--seconds" -> seconds = Integer.parseInt(args[i + 1]);
+                case "--warmup-seconds" -> warmupSeconds = Integer.parseInt(args[i + 1]);
+                case "--sample-per-second" -> samplePerSecond = Integer.parseInt(args[i + 1]);
+                case "--output" -> output = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        // The SLF4J-bound context shares the MDC adapter used by MDC.put below
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        Logger syncLogger = syncPatternLogger(context);
+        DropCountingAsyncAppender asyncAppender = asyncJsonAppender(context);
+        Logger asyncLogger = context.getLogger("bench.async");
+        asyncLogger.setAdditive(false);
+        asyncLogger.addAppender(asyncAppender);
+
+        CorrelationIdGenerator generator = new CorrelationIdGenerator("bench");
+        LogSampler sampler = new LogSampler(samplePerSecond);
+
+        Map<String, Runnable> stages = new LinkedHashMap<>();
+        stages.put("correlationId.uuid", () -> consume(UUID.randomUUID().toString()));
+        stages.put("correlationId.sequence", () -> consume(generator.next()));
+        stages.put("notFound.before", () -> {
+            MDC.put("correlationId", UUID.randomUUID().toString());
+            RuntimeException ex = new RuntimeException("URL mapping not found for code: abc123");
+            Map<String, String> error = new HashMap<>();
+            error.put("error", ex.getMessage());
+            error.put("traceId", MDC.get("correlationId"));
+            syncLogger.info("URL not found: {}", ex.getMessage());
+            consume(error);
+            MDC.remove("correlationId");
+        });
+        stages.put("notFound.asyncJsonUnsampled", () -> {
+            MDC.put("correlationId", generator.next());
+            UrlNotFoundException ex = new UrlNotFoundException("URL mapping not found for code: abc123");
+            asyncLogger.info("URL not found: {} ({} similar suppressed)", ex.getMessage(), 0L);
+            consume(new ErrorResponse(ex.getMessage(), MDC.get("correlationId")));
+            MDC.remove("correlationId");
+        });
+        stages.put("notFound.after", () -> {
+            MDC.put("correlationId", generator.next());
+            UrlNotFoundException ex = new UrlNotFoundException("URL mapping not found for code: abc123");
+            long suppressed = sampler.sample();
+            if (suppressed >= 0) {
+                asyncLogger.info("URL not found: {} ({} similar suppressed)", ex.getMessage(), suppressed);
+            }
+            consume(new ErrorResponse(ex.getMessage(), MDC.get("correlationId")));
+            MDC.remove("correlationId");
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", threads);
+        result.put("seconds", seconds);
+        result.put("samplePerSecond", samplePerSecond);
+        Map<String, Object> stageResults = new LinkedHashMap<>();
+        for (Map.Entry<String, Runnable> stage : stages.entrySet()) {
+            measure(stage.getValue(), threads, warmupSeconds);
+            stageResults.put(stage.getKey(), measure(stage.getValue(), threads, seconds));
+        }
+        result.put("stages", stageResults);
+        result.put("asyncLogEventsDropped", DropCountingAsyncAppender.droppedCount());
+        result.put("sampledOut", sampler.totalSuppressed());
+        context.stop();
+
+        Files.writeString(output, Json.write(result));
+        System.out.print(Json.write(result));
+    }
+
+    private static Logger syncPatternLogger(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(BOOT_CONSOLE_PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        Logger logger = context.getLogger("bench.sync");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    /** Same settings as the "perf" profile in logback-spring.xml */
+    private static DropCountingAsyncAppender asyncJsonAppender(LoggerContext context) {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> out = new OutputStreamAppender<>();
+        out.setContext(context);
+        out.setEncoder(encoder);
+        out.setOutputStream(OutputStream.nullOutputStream());
+        out.start();
+
+        DropCountingAsyncAppender async = new DropCountingAsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(1638);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(out);
+        async.start();
+        return async;
+    }
+
+    private static Map<String, Object> measure(Runnable op, int threads, int seconds) throws InterruptedException {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] ops = new long[threads];
+        long[] allocated = new long[threads];
+        long[] busyNanos = new long[threads];
+
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                long count = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 100; i++) {
+                        op.run();
+                    }
+                    count += 100;
+                }
+                busyNanos[id] = System.nanoTime() - start;
+                allocated[id] = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                ops[id] = count;
+                done.countDown();
+            }, "bench-" + t);
+            thread.start();
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        done.await();
+
+        long totalOps = 0;
+        long totalAllocated = 0;
+        long totalNanos = 0;
+        for (int t = 0; t < threads; t++) {
+            totalOps += ops[t];
+            totalAllocated += allocated[t];
+            totalNanos += busyNanos[t];
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("opsPerSecond", totalOps / (seconds * 1.0));
+        result.put("nanosPerOp", totalNanos / (double) totalOps);
+        result.put("bytesAllocatedPerOp", totalAllocated / (double) totalOps);
+        return result;
+    }
+
+    /** Keeps results reachable so the JIT cannot drop the work */
+    private static void consume(Object value) {
+        sink = value;
+    }
+}
@@ -0,0 +1,274 @@
+package com.antigravity.urlshortener.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Traffic generator. Each worker picks an operation from the configured mix,
+ * issues it synchronously and records the latency before issuing the next one.
+ *
+ * Closed loop (no rate): workers send back to back, so a slow response delays
+ * the requests behind it and those delays never show up in the latencies
+ * (coordinated omission). Open loop (a rate): every request has a scheduled
+ * send time on a fixed timeline, and its latency is measured from that time,
+ * so waiting behind a slow response counts against the server.
+ */
+public class TrafficGenerator {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final Pattern SHORT_CODE = Pattern.compile("\"shortCode\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String runId;
+    private final String[] hosts;
+    private final AtomicLong shortenSequence = new AtomicLong();
+
+    private URI[] redirectUris;
+    private URI[] analyticsUris;
+    private String[] linkHosts;
+    private ZipfDistribution popularity;
+
+    /**
+     * @param hosts Host headers to spread traffic over (one per tenant domain);
+     *              empty to send the target's own host
+     */
+    public TrafficGenerator(HttpClient client, String baseUrl, String runId, List<String> hosts) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.runId = runId;
+        this.hosts = hosts.isEmpty() ? new String[] { null } : hosts.toArray(new String[0]);
+    }
+
+    /**
+     * Creates the population of links that redirect and analytics traffic is
+     * drawn from. Rank 0 in the Zipf distribution maps to the first code.
+     * Links are created round-robin across the configured hosts and are
+     * always requested through the host they were created on.
+     */
+    public int seed(int links, int concurrency, double zipfExponent) throws InterruptedException {
+        String[] codes = new String[links];
+        String[] codeHosts = new String[links];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService pool = Executors.newFixedThreadPool(concurrency)) {
+            for (int w = 0; w < concurrency; w++) {
+                pool.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < links) {
+                        try {
+                            String host = hosts[i % hosts.length];
+                            HttpResponse<String> response = client.send(shortenRequest(host),
+                                    HttpResponse.BodyHandlers.ofString());
+                            Matcher m = SHORT_CODE.matcher(response.body());
+                            if (response.statusCode() == 200 && m.find()) {
+                                codes[i] = m.group(1);
+                                codeHosts[i] = host;
+                            } else {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            failures.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+
+        List<String> created = new ArrayList<>(links);
+        List<String> createdHosts = new ArrayList<>(links);
+        for (int i = 0; i < links; i++) {
+            if (codes[i] != null) {
+                created.add(codes[i]);
+                createdHosts.add(codeHosts[i]);
+            }
+        }
+        if (created.isEmpty()) {
+            throw new IllegalStateException("Seeding failed: no links could be created");
+        }
+        redirectUris = new URI[created.size()];
+        analyticsUris = new URI[created.size()];
+        linkHosts = createdHosts.toArray(new String[0]);
+        for (int i = 0; i < created.size(); i++) {
+            redirectUris[i] = URI.create(baseUrl + "/" + created.get(i));
+            analyticsUris[i] = URI.create(baseUrl + "/api/v1/analytics/" + created.get(i));
+        }
+        popularity = new ZipfDistribution(created.size(), zipfExponent);
+        return failures.get();
+    }
+
+    /**
+     * Runs {@code concurrency} workers for the given duration.
+     *
+     * @param rate Open-loop target in requests per second across all workers,
+     *             or 0 for closed loop. Worker {@code w} owns every
+     *             {@code concurrency}-th slot of the schedule; if it falls
+     *             behind, its next requests start late and their latencies
+     *             include the wait. Slots still unsent at the deadline
+     *             are dropped.
+     * @return Per-operation recorders merged across workers
+     */
+    public Map<Operation, LatencyRecorder> run(TrafficMix mix, Duration duration, int concurrency, double rate,
+            long seed) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        double intervalNanos = rate > 0 ? 1_000_000_000.0 / rate : 0;
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Future<Map<Operation, LatencyRecorder>>> futures = new ArrayList<>();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(concurrency)) {
+            for (int w = 0; w < concurrency; w++) {
+                SplittableRandom random = root.split();
+                int worker = w;
+                futures.add(pool.submit(() -> {
+                    Map<Operation, LatencyRecorder> local = newRecorders();
+                    if (rate > 0) {
+                        for (long slot = worker; !Thread.currentThread().isInterrupted(); slot += concurrency) {
+                            long scheduled = start + (long) (slot * intervalNanos);
+                            long now = System.nanoTime();
+                            // A worker that fell behind stops on time too, so
+                            // the shortfall shows in the throughput
+                            if (scheduled >= deadline || now >= deadline) {
+                                break;
+                            }
+                            long wait = scheduled - now;
+                            if (wait > 0) {
+                                LockSupport.parkNanos(wait);
+                            }
+                            Operation op = mix.next(random);
+                            send(op, request(op, random), scheduled, local.get(op));
+                        }
+                    } else {
+                        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                            Operation op = mix.next(random);
+                            execute(op, random, local.get(op));
+                        }
+                    }
+                    return local;
+                }));
+            }
+        }
+
+        Map<Operation, LatencyRecorder> merged = newRecorders();
+        for (Future<Map<Operation, LatencyRecorder>> future : futures) {
+            try {
+                future.get().forEach((op, recorder) -> merged.get(op).merge(recorder));
+            } catch (java.util.concurrent.ExecutionException e) {
+                throw new IllegalStateException("Worker failed", e.getCause());
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Issues {@code count} requests of a single operation sequentially.
+     * Used to attribute DB statement counts to individual operations.
+     */
+    public void runSequential(Operation op, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LatencyRecorder ignored = new LatencyRecorder();
+        for (int i = 0; i < count; i++) {
+            execute(op, random, ignored);
+        }
+    }
+
+    private void execute(Operation op, RandomGenerator random, LatencyRecorder recorder) {
+        HttpRequest request = request(op, random);
+        send(op, request, System.nanoTime(), recorder);
+    }
+
+    /**
+     * Sends a request and records its latency from {@code startNanos}: the
+     * send itself in closed loop, the scheduled send time in open loop.
+     */
+    private void send(Operation op, HttpRequest request, long startNanos, LatencyRecorder recorder) {
+        boolean success;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            success = op.isExpected(response.statusCode());
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        recorder.record(System.nanoTime() - startNanos, success);
+    }
+
+    private HttpRequest request(Operation op, RandomGenerator random) {
+        return switch (op) {
+            case SHORTEN -> shortenRequest(randomHost(random));
+            case REDIRECT -> {
+                int rank = popularity.sample(random);
+                yield get(redirectUris[rank], linkHosts[rank]);
+            }
+            case ANALYTICS -> {
+                int rank = popularity.sample(random);
+                yield get(analyticsUris[rank], linkHosts[rank]);
+            }
+            case NOT_FOUND -> get(URI.create(baseUrl + "/" + missingCode(random)), randomHost(random));
+        };
+    }
+
+    private String randomHost(RandomGenerator random) {
+        return hosts[random.nextInt(hosts.length)];
+    }
+
+    private HttpRequest shortenRequest(String host) {
+        String url = "https://load.example.com/" + runId + "/" + shortenSequence.incrementAndGet();
+        return withHost(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/shorten")), host)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"originalUrl\":\"" + url + "\"}"))
+                .build();
+    }
+
+    private static HttpRequest get(URI uri, String host) {
+        return withHost(HttpRequest.newBuilder(uri), host).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private static HttpRequest.Builder withHost(HttpRequest.Builder builder, String host) {
+        return host == null ? builder : builder.header("Host", host);
+    }
+
+    /** Ten characters with a fixed prefix; generated codes only reach this length after 62^8 links. */
+    private static String missingCode(RandomGenerator random) {
+        char[] chars = new char[10];
+        chars[0] = 'z';
+        chars[1] = 'z';
+        for (int i = 2; i < chars.length; i++) {
+            chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+
+    private static Map<Operation, LatencyRecorder> newRecorders() {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation op : Operation.values()) {
+            recorders.put(op, new LatencyRecorder());
+        }
+        return recorders;
+    }
+}
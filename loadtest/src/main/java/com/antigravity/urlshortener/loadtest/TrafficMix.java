@@ -0,0 +1,72 @@
+package com.antigravity.urlshortener.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted mix of operations, parsed from a spec such as
+ * {@code redirect=80,shorten=5,analytics=10,notfound=5}.
+ */
+public class TrafficMix {
+
+    private final Operation[] operations;
+    private final double[] cumulative;
+    private final Map<Operation, Double> weights;
+
+    private TrafficMix(Map<Operation, Double> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new double[operations.length];
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        double running = 0;
+        for (int i = 0; i < operations.length; i++) {
+            running += weights.get(operations[i]) / total;
+            cumulative[i] = running;
+        }
+    }
+
+    public static TrafficMix parse(String spec) {
+        Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            double weight = Double.parseDouble(kv[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(kv[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix must contain at least one positive weight");
+        }
+        return new TrafficMix(weights);
+    }
+
+    public Operation next(RandomGenerator random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Map<Operation, Double> weights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((op, w) -> {
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(op.key()).append('=').append(w);
+        });
+        return sb.toString();
+    }
+}